@@ -4,26 +4,73 @@ import com.alexmoleiro.healthchecker.core.healthCheck.DomainsRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.Rollups;
 import com.alexmoleiro.healthchecker.core.profile.ProfileRepository;
+import com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers;
 import com.alexmoleiro.healthchecker.infrastructure.filter.ThrottleFilter;
 import com.alexmoleiro.healthchecker.infrastructure.repositories.DomainsLocal;
 import com.alexmoleiro.healthchecker.infrastructure.repositories.DomainsRemote;
 import com.alexmoleiro.healthchecker.infrastructure.repositories.EndpointInMemory;
 import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
 import com.alexmoleiro.healthchecker.infrastructure.repositories.ProfileRepositoryInMemory;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.ReplicatedEndpoints;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.ReplicatedHealthChecks;
+import com.alexmoleiro.healthchecker.service.BatchChecker;
+import com.alexmoleiro.healthchecker.service.CoalescingHealthChecker;
+import com.alexmoleiro.healthchecker.service.CrawlCycleCoordinator;
 import com.alexmoleiro.healthchecker.service.EndpointService;
 import com.alexmoleiro.healthchecker.service.HealthCheckerClient;
 import com.alexmoleiro.healthchecker.service.HealthCheckerCrawler;
+import com.alexmoleiro.healthchecker.service.HttpClientPool;
+import com.alexmoleiro.healthchecker.service.PhaseTimer;
+import com.alexmoleiro.healthchecker.service.ProbeMethod;
 import com.alexmoleiro.healthchecker.service.ProfileService;
+import com.alexmoleiro.healthchecker.service.RedirectCache;
+import com.alexmoleiro.healthchecker.service.ResolvingHealthChecker;
+import com.alexmoleiro.healthchecker.service.TimingWheelScheduler;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
+import com.alexmoleiro.healthchecker.service.crawler.CheckIntervals;
+import com.alexmoleiro.healthchecker.service.crawler.Bulkheads;
+import com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers;
+import com.alexmoleiro.healthchecker.service.crawler.ConcurrencyLimit;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlPriorities;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutorType;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerMode;
+import com.alexmoleiro.healthchecker.service.crawler.DispatchSpread;
+import com.alexmoleiro.healthchecker.service.crawler.ForkJoinCrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.crawler.OverlapPolicy;
+import com.alexmoleiro.healthchecker.service.crawler.PlatformCrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.crawler.Politeness;
+import com.alexmoleiro.healthchecker.service.crawler.RetryPolicy;
+import com.alexmoleiro.healthchecker.service.crawler.SchedulerType;
+import com.alexmoleiro.healthchecker.service.crawler.TimeoutBudget;
+import com.alexmoleiro.healthchecker.service.crawler.ThreadPerCheckCrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.dns.CachingNameResolver;
+import com.alexmoleiro.healthchecker.service.dns.SystemNameResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.support.CronSequenceGenerator;
 
-import static java.net.http.HttpClient.Redirect.ALWAYS;
-import static java.net.http.HttpClient.newBuilder;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerMode.ASYNC;
+import static com.alexmoleiro.healthchecker.service.crawler.SchedulerType.WHEEL;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.time.Duration.ofHours;
+import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 @EnableScheduling
 @Configuration
@@ -32,9 +79,189 @@ public class InfrastuctureConfiguration {
   @Value("${timeout}")
   long seconds;
 
+  @Value("${probe.method}")
+  ProbeMethod probeMethod;
+
+  @Value("${timing.phases}")
+  boolean timingPhases;
+
+  @Value("${http.shards}")
+  int httpShards;
+
+  @Value("${redirect.revalidate}")
+  int redirectRevalidate;
+
+  @Value("${status.cache.ttl}")
+  long statusCacheTtlSeconds;
+
+  @Value("${history.capacity}")
+  int historyCapacity;
+
+  @Value("${history.age}")
+  long historyAgeHours;
+
+  @Value("${rollup.minutes}")
+  int rollupMinutes;
+
+  @Value("${rollup.hours}")
+  int rollupHours;
+
+  @Value("${rollup.days}")
+  int rollupDays;
+
   @Value("${nthreads}")
   int nThreads;
 
+  @Value("${crawler.mode}")
+  CrawlerMode crawlerMode;
+
+  @Value("${crawler.inflight}")
+  int maxInFlight;
+
+  @Value("${crawler.adaptive}")
+  boolean adaptiveConcurrency;
+
+  @Value("${crawler.inflight.min}")
+  int minInFlight;
+
+  @Value("${crawler.cycle.target}")
+  long targetCycleSeconds;
+
+  @Value("${crawler.errors.max}")
+  double maxErrorRate;
+
+  @Value("${crawler.executor}")
+  CrawlerExecutorType crawlerExecutorType;
+
+  @Value("${crawler.executor.queue}")
+  int crawlerQueueCapacity;
+
+  @Value("${crawler.overlap}")
+  OverlapPolicy overlapPolicy;
+
+  @Value("${crawler.scheduler}")
+  SchedulerType schedulerType;
+
+  @Value("${politeness.host.concurrent}")
+  int hostConcurrent;
+
+  @Value("${politeness.group.concurrent}")
+  int groupConcurrent;
+
+  @Value("${politeness.host.persecond}")
+  int hostPerSecond;
+
+  @Value("${politeness.group.persecond}")
+  int groupPerSecond;
+
+  @Value("${retry.attempts}")
+  int retryAttempts;
+
+  @Value("${retry.backoff}")
+  long retryBackoffMillis;
+
+  @Value("${retry.backoff.max}")
+  long retryBackoffMaxMillis;
+
+  @Value("${retry.hedge}")
+  boolean hedge;
+
+  @Value("${timeout.adaptive}")
+  boolean adaptiveTimeout;
+
+  @Value("${timeout.multiplier}")
+  double timeoutMultiplier;
+
+  @Value("${timeout.floor}")
+  long timeoutFloorMillis;
+
+  @Value("${timeout.window}")
+  int timeoutWindow;
+
+  @Value("${timeout.samples}")
+  int timeoutSamples;
+
+  @Value("${confirm.rechecks}")
+  int confirmRechecks;
+
+  @Value("${confirm.delay}")
+  long confirmDelayMillis;
+
+  @Value("${breaker.failures}")
+  int breakerFailures;
+
+  @Value("${breaker.open}")
+  long breakerOpenSeconds;
+
+  @Value("${bulkhead.slow.threshold}")
+  long slowThresholdMillis;
+
+  @Value("${bulkhead.slow.share}")
+  int slowSharePercent;
+
+  @Value("${bulkhead.window}")
+  int bulkheadWindow;
+
+  @Value("${cron.expression}")
+  String cronExpression;
+
+  @Value("${spread.fraction}")
+  double spreadFraction;
+
+  @Value("${batch.concurrency}")
+  int batchConcurrency;
+
+  @Value("${batch.deadline}")
+  long batchDeadlineSeconds;
+
+  @Value("${batch.max.urls}")
+  int batchMaxUrls;
+
+  @Value("${cluster.self}")
+  String clusterSelf;
+
+  @Value("${cluster.members}")
+  List<String> clusterMembers;
+
+  @Value("${cluster.vnodes}")
+  int clusterVirtualNodes;
+
+  @Value("${cluster.heartbeat}")
+  long clusterHeartbeatMillis;
+
+  @Value("${cluster.secret}")
+  String clusterSecret;
+
+  @Value("${dns.ttl}")
+  long dnsTtlSeconds;
+
+  @Value("${dns.negative.ttl}")
+  long dnsNegativeTtlSeconds;
+
+  @Value("${dns.failure.ttl}")
+  long dnsFailureTtlSeconds;
+
+  @Value("${dns.server}")
+  String dnsServer;
+
+  @Value("${dns.threads}")
+  int dnsThreads;
+
+  @Value("${wheel.tick}")
+  long wheelTickMillis;
+
+  @Value("${wheel.size}")
+  int wheelSize;
+
+  @Value("${interval.landing}")
+  long landingIntervalSeconds;
+
+  @Value("${interval.default}")
+  long defaultIntervalSeconds;
+
+  @Value("${interval.min}")
+  long minIntervalSeconds;
+
   @Value("${tokens.daily}")
   int dailyTokens;
 
@@ -50,19 +277,47 @@ public class InfrastuctureConfiguration {
   }
 
   @Bean
-  HealthChecker httpChecker() {
+  HttpClientPool httpClientPool() {
+    return HttpClientPool.sharded(httpShards);
+  }
+
+  @Bean
+  RedirectCache redirectCache() {
+    return new RedirectCache(redirectRevalidate);
+  }
+
+  @Bean
+  HealthCheckerClient httpChecker(
+      HttpClientPool httpClientPool, RedirectCache redirectCache, CrawlerExecutor crawlerExecutor) {
     return new HealthCheckerClient(
-        newBuilder().followRedirects(ALWAYS).build(), ofSeconds(seconds));
+        httpClientPool,
+        ofSeconds(seconds),
+        probeMethod,
+        new PhaseTimer(timingPhases, ofSeconds(seconds), crawlerExecutor),
+        redirectCache);
+  }
+
+  @Bean
+  @Primary
+  HealthChecker coalescingHealthChecker(
+      HealthCheckerClient healthCheckerClient, HealthCheckRepository healthCheckRepository) {
+    return new CoalescingHealthChecker(
+        healthCheckerClient, healthCheckRepository, ofSeconds(statusCacheTtlSeconds));
   }
 
   @Bean
-  HealthCheckRepository healthCheckRepository() {
-    return new HealthChecksInMemory();
+  ReplicatedHealthChecks healthCheckRepository(ClusterPeers clusterPeers) {
+    return new ReplicatedHealthChecks(
+        new HealthChecksInMemory(
+            historyCapacity,
+            historyAgeHours == 0 ? null : ofHours(historyAgeHours),
+            () -> new Rollups(rollupMinutes, rollupHours, rollupDays)),
+        clusterPeers);
   }
 
   @Bean
-  EndpointRepository endpointRepository() {
-    return new EndpointInMemory();
+  ReplicatedEndpoints endpointRepository(ClusterPeers clusterPeers) {
+    return new ReplicatedEndpoints(new EndpointInMemory(), clusterPeers);
   }
 
   @Bean
@@ -80,18 +335,148 @@ public class InfrastuctureConfiguration {
         profileRepository, healthCheckRepository, endpointRepository, healthChecker, maxEndpointsPerUser);
   }
 
+  @Bean
+  CrawlerExecutor crawlerExecutor() {
+    return switch (crawlerExecutorType) {
+      case PLATFORM -> new PlatformCrawlerExecutor(nThreads, crawlerQueueCapacity);
+      case FORK_JOIN -> new ForkJoinCrawlerExecutor(nThreads);
+      case THREAD_PER_CHECK -> new ThreadPerCheckCrawlerExecutor();
+    };
+  }
+
+  @Bean
+  CachingNameResolver cachingNameResolver() {
+    return new CachingNameResolver(
+        new SystemNameResolver(dnsServer),
+        dnsTtlSeconds == 0 ? SystemNameResolver.cacheTtl() : ofSeconds(dnsTtlSeconds),
+        ofSeconds(dnsNegativeTtlSeconds),
+        ofSeconds(dnsFailureTtlSeconds),
+        newFixedThreadPool(dnsThreads, dnsThreadFactory()));
+  }
+
+  private static ThreadFactory dnsThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, "dns-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
   @Bean
   HealthCheckerCrawler checkDaemon(
-      HealthChecker healthChecker, HealthCheckRepository healthCheckRepository) {
-    return new HealthCheckerCrawler(healthChecker, healthCheckRepository, nThreads);
+      HealthCheckerClient healthCheckerClient,
+      HealthCheckRepository healthCheckRepository,
+      CrawlerExecutor crawlerExecutor,
+      CachingNameResolver cachingNameResolver,
+      CheckIntervals checkIntervals) {
+    final int inFlight = crawlerMode == ASYNC ? maxInFlight : nThreads;
+    final int slowLimit = slowSharePercent == 0 ? 0 : max(1, inFlight * slowSharePercent / 100);
+    return HealthCheckerCrawler.builder(
+            new ResolvingHealthChecker(healthCheckerClient, cachingNameResolver),
+            healthCheckRepository)
+        .mode(crawlerMode)
+        .maxInFlight(inFlight)
+        .executor(crawlerExecutor)
+        .politeness(
+            new Politeness(
+                hostConcurrent,
+                groupConcurrent,
+                hostPerSecond,
+                groupPerSecond,
+                timingPhases ? PhaseTimer.CONNECTIONS_PER_CHECK : 1))
+        .retryPolicy(
+            new RetryPolicy(
+                retryAttempts, ofMillis(retryBackoffMillis), ofMillis(retryBackoffMaxMillis), hedge))
+        .timeoutBudget(
+            adaptiveTimeout
+                ? new TimeoutBudget(
+                    healthCheckRepository,
+                    timeoutMultiplier,
+                    ofMillis(timeoutFloorMillis),
+                    ofSeconds(seconds),
+                    timeoutWindow,
+                    timeoutSamples)
+                : TimeoutBudget.none())
+        .priorities(
+            new CrawlPriorities(
+                healthCheckRepository, checkIntervals, confirmRechecks, ofMillis(confirmDelayMillis)))
+        .breakers(new CircuitBreakers(breakerFailures, ofSeconds(breakerOpenSeconds)))
+        .bulkheads(
+            slowLimit == 0
+                ? Bulkheads.single()
+                : new Bulkheads(
+                    healthCheckRepository,
+                    ofMillis(slowThresholdMillis),
+                    bulkheadWindow,
+                    inFlight - slowLimit,
+                    slowLimit))
+        .spread(schedulerType == WHEEL ? DispatchSpread.none() : new DispatchSpread(spreadWindow()))
+        .limit(
+            adaptiveConcurrency
+                ? new ConcurrencyLimit(
+                    min(minInFlight, inFlight), inFlight, ofSeconds(targetCycleSeconds), maxErrorRate)
+                : ConcurrencyLimit.fixed(inFlight))
+        .build();
+  }
+
+  // The cron ticks are assumed evenly spaced, so the first gap stands for the interval.
+  private Duration spreadWindow() {
+    final CronSequenceGenerator cron = new CronSequenceGenerator(cronExpression);
+    final Date tick = cron.next(new Date());
+    final long interval = cron.next(tick).getTime() - tick.getTime();
+    return ofMillis((long) (interval * spreadFraction));
+  }
+
+  @Bean
+  BatchChecker batchChecker(HealthCheckerCrawler healthCheckerCrawler) {
+    return new BatchChecker(
+        healthCheckerCrawler, batchConcurrency, ofSeconds(batchDeadlineSeconds), batchMaxUrls);
+  }
+
+  @Bean
+  CrawlCycleCoordinator crawlCycleCoordinator(HealthCheckerCrawler healthCheckerCrawler) {
+    return new CrawlCycleCoordinator(healthCheckerCrawler, overlapPolicy);
+  }
+
+  @Bean
+  CheckIntervals checkIntervals() {
+    return new CheckIntervals(
+        ofSeconds(landingIntervalSeconds),
+        ofSeconds(defaultIntervalSeconds),
+        ofSeconds(minIntervalSeconds));
+  }
+
+  @Bean
+  TimingWheelScheduler timingWheelScheduler(
+      HealthCheckerCrawler healthCheckerCrawler, CheckIntervals checkIntervals) {
+    return new TimingWheelScheduler(
+        healthCheckerCrawler, checkIntervals, ofMillis(wheelTickMillis), wheelSize);
+  }
+
+  @Bean
+  ClusterMembership clusterMembership() {
+    return new ClusterMembership(clusterSelf, clusterMembers, clusterVirtualNodes);
+  }
+
+  @Bean
+  ClusterPeers clusterPeers(ClusterMembership clusterMembership, ObjectMapper objectMapper) {
+    return new ClusterPeers(
+        clusterMembership, objectMapper, clusterSecret, ofMillis(clusterHeartbeatMillis));
   }
 
   @Bean
   EndpointService endpointService(
-      HealthCheckerCrawler healthCheckerCrawler,
+      CrawlCycleCoordinator crawlCycleCoordinator,
+      TimingWheelScheduler timingWheelScheduler,
       DomainsRepository domainsRepository,
-      EndpointRepository endpointRepository) {
-    return new EndpointService(healthCheckerCrawler, domainsRepository, endpointRepository);
+      EndpointRepository endpointRepository,
+      ClusterMembership clusterMembership) {
+    return new EndpointService(
+        schedulerType == WHEEL ? timingWheelScheduler : crawlCycleCoordinator,
+        domainsRepository,
+        endpointRepository,
+        clusterMembership);
   }
 
 
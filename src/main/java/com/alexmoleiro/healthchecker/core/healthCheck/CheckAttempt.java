@@ -0,0 +1,42 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+public class CheckAttempt {
+
+  private final int number;
+  private final int status;
+  private final long delay;
+  private final boolean hedged;
+
+  public CheckAttempt(int number, int status, long delay, boolean hedged) {
+    this.number = number;
+    this.status = status;
+    this.delay = delay;
+    this.hedged = hedged;
+  }
+
+  public int getNumber() {
+    return number;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public long getDelay() {
+    return delay;
+  }
+
+  public boolean isHedged() {
+    return hedged;
+  }
+
+  @Override
+  public String toString() {
+    return "{" +
+        "number=" + number +
+        ", status=" + status +
+        ", delay=" + delay +
+        (hedged ? ", hedged" : "") +
+        '}';
+  }
+}
@@ -0,0 +1,59 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static java.util.Optional.ofNullable;
+
+public class CheckTimings {
+
+  private final Duration dns;
+  private final Duration connect;
+  private final Duration tls;
+  private final Duration ttfb;
+
+  public CheckTimings(Duration dns, Duration connect, Duration tls, Duration ttfb) {
+    this.dns = dns;
+    this.connect = connect;
+    this.tls = tls;
+    this.ttfb = ttfb;
+  }
+
+  public static CheckTimings none() {
+    return new CheckTimings(null, null, null, null);
+  }
+
+  public CheckTimings withTtfb(Duration ttfb) {
+    return new CheckTimings(dns, connect, tls, ttfb);
+  }
+
+  public Optional<Duration> getDns() {
+    return ofNullable(dns);
+  }
+
+  public Optional<Duration> getConnect() {
+    return ofNullable(connect);
+  }
+
+  public Optional<Duration> getTls() {
+    return ofNullable(tls);
+  }
+
+  public Optional<Duration> getTtfb() {
+    return ofNullable(ttfb);
+  }
+
+  @Override
+  public String toString() {
+    return "{" +
+        "dns=" + millis(dns) +
+        ", connect=" + millis(connect) +
+        ", tls=" + millis(tls) +
+        ", ttfb=" + millis(ttfb) +
+        '}';
+  }
+
+  private static Long millis(Duration duration) {
+    return duration == null ? null : duration.toMillis();
+  }
+}
@@ -0,0 +1,28 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+public class CheckedResponse {
+
+  public enum Source {
+    PROBED, CACHED, RECORDED
+  }
+
+  private final HealthCheckResponse response;
+  private final Source source;
+
+  public CheckedResponse(HealthCheckResponse response, Source source) {
+    this.response = response;
+    this.source = source;
+  }
+
+  public HealthCheckResponse getResponse() {
+    return response;
+  }
+
+  public Source getSource() {
+    return source;
+  }
+
+  public boolean isRecorded() {
+    return source == Source.RECORDED;
+  }
+}
@@ -2,10 +2,13 @@ package com.alexmoleiro.healthchecker.core.healthCheck;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.DEFAULT;
 import static java.text.MessageFormat.format;
+import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 
 public class Endpoint {
@@ -15,14 +18,29 @@ public class Endpoint {
   private String id;
   private String group;
   private EndpointType endpointType;
+  private Duration checkInterval;
 
-  public Endpoint(HttpUrl httpUrl, EndpointType endpointType) {
+  public Endpoint(HttpUrl httpUrl, EndpointType endpointType, Duration checkInterval) {
     this.httpUrl = httpUrl;
     this.endpointType = endpointType;
+    this.checkInterval = checkInterval;
     setGroup();
     setId();
   }
 
+  // An endpoint registered on another instance keeps the id it was given there.
+  public Endpoint(String id, HttpUrl httpUrl, EndpointType endpointType, Duration checkInterval) {
+    this.httpUrl = httpUrl;
+    this.endpointType = endpointType;
+    this.checkInterval = checkInterval;
+    this.id = id;
+    setGroup();
+  }
+
+  public Endpoint(HttpUrl httpUrl, EndpointType endpointType) {
+    this(httpUrl, endpointType, null);
+  }
+
   public Endpoint(HttpUrl httpUrl) {
     this(httpUrl, DEFAULT);
   }
@@ -41,6 +59,11 @@ public class Endpoint {
     return endpointType;
   }
 
+  @JsonIgnore
+  public Optional<Duration> getCheckInterval() {
+    return ofNullable(checkInterval);
+  }
+
   public String getUrl() {
     return httpUrl.toString();
   }
@@ -55,7 +78,10 @@ public class Endpoint {
 
   private void setGroup() {
     String[] domain = httpUrl.getUrl().getHost().split("\\.");
-    group = format("{0}.{1}", domain[domain.length - 2], domain[domain.length - 1]);
+    group =
+        domain.length < 2
+            ? httpUrl.getUrl().getHost()
+            : format("{0}.{1}", domain[domain.length - 2], domain[domain.length - 1]);
   }
 
   @Override
@@ -1,6 +1,7 @@
 package com.alexmoleiro.healthchecker.core.healthCheck;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface HealthCheckRepository {
@@ -8,6 +9,7 @@ public interface HealthCheckRepository {
   List<HealthCheckResponses> getResponses(EndpointType endpointType);
   List<HealthCheckResponses> getResponses(Set<Endpoint> endpoints);
   HealthCheckResponses getResponses(Endpoint endpoint);
+  Optional<HealthCheckResponse> getLastResponse(HttpUrl httpUrl);
   void add(Endpoint endpoint, HealthCheckResponse response);
   void deleteAll();
 }
\ No newline at end of file
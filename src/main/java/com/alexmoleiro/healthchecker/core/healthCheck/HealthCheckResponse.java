@@ -2,8 +2,12 @@ package com.alexmoleiro.healthchecker.core.healthCheck;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static java.time.Duration.between;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
 
 public class HealthCheckResponse {
 
@@ -11,12 +15,33 @@ public class HealthCheckResponse {
   private final LocalDateTime time;
   private HttpUrl url;
   private Duration delay;
+  private CheckTimings timings;
+  private int hopsSaved;
+  private List<CheckAttempt> attempts = emptyList();
+  private Duration timeout;
 
   public HealthCheckResponse(HttpUrl url, int statusCode, LocalDateTime before, LocalDateTime now) {
+    this(url, statusCode, between(before, now), now, null);
+  }
+
+  public HealthCheckResponse(
+      HttpUrl url, int statusCode, Duration delay, LocalDateTime time, CheckTimings timings) {
+    this(url, statusCode, delay, time, timings, 0);
+  }
+
+  public HealthCheckResponse(
+      HttpUrl url,
+      int statusCode,
+      Duration delay,
+      LocalDateTime time,
+      CheckTimings timings,
+      int hopsSaved) {
     this.url = url;
-    this.delay = between(before, now);
+    this.delay = delay;
     this.statusCode = statusCode;
-    this.time = now;
+    this.time = time;
+    this.timings = timings;
+    this.hopsSaved = hopsSaved;
   }
 
   public int getStatus() {
@@ -27,6 +52,10 @@ public class HealthCheckResponse {
     return url.toString();
   }
 
+  HttpUrl getHttpUrl() {
+    return url;
+  }
+
   public long getDelay() {
     return delay.toMillis();
   }
@@ -35,12 +64,51 @@ public class HealthCheckResponse {
     return time;
   }
 
+  public Optional<CheckTimings> getTimings() {
+    return ofNullable(timings);
+  }
+
+  public int getHopsSaved() {
+    return hopsSaved;
+  }
+
+  public List<CheckAttempt> getAttempts() {
+    return attempts;
+  }
+
+  public Optional<Duration> getTimeout() {
+    return ofNullable(timeout);
+  }
+
+  public HealthCheckResponse withAttempts(List<CheckAttempt> attempts) {
+    final HealthCheckResponse response = copy();
+    response.attempts = List.copyOf(attempts);
+    return response;
+  }
+
+  public HealthCheckResponse withTimeout(Duration timeout) {
+    final HealthCheckResponse response = copy();
+    response.timeout = timeout;
+    return response;
+  }
+
+  private HealthCheckResponse copy() {
+    final HealthCheckResponse response =
+        new HealthCheckResponse(url, statusCode, delay, time, timings, hopsSaved);
+    response.attempts = attempts;
+    response.timeout = timeout;
+    return response;
+  }
+
   @Override
   public String toString() {
     return "{" +
         "url='" + url + '\'' +
         ", status=" + statusCode +
         ", delay=" + delay.toMillis() +
+        (timings == null ? "" : ", timings=" + timings) +
+        (attempts.size() > 1 ? ", attempts=" + attempts : "") +
+        (timeout == null ? "" : ", timeout=" + timeout.toMillis()) +
         '}';
   }
 }
@@ -1,61 +1,135 @@
 package com.alexmoleiro.healthchecker.core.healthCheck;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.LinkedList;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
-import static java.lang.Float.valueOf;
-import static java.util.Locale.ENGLISH;
-import static java.util.stream.Collectors.toList;
-import static org.springframework.http.HttpStatus.OK;
+import static java.lang.Math.round;
+import static java.lang.System.identityHashCode;
+import static java.util.Arrays.setAll;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 
 public class HealthCheckResponses {
 
+  public static final int DEFAULT_CAPACITY = 2016;
+  private static final StampedLock[] LOCKS = stripes(256);
   private final Endpoint endpoint;
-  private LinkedList<HealthCheckResponse> healthCheckResponses = new LinkedList<>();
-  public static final DecimalFormatSymbols ENGLISH_SYMBOLS = new DecimalFormatSymbols(ENGLISH);
+  private final Duration maxAge;
+  private final ResponseSeries healthCheckResponses;
+  private final Rollups rollups;
 
   public HealthCheckResponses(Endpoint endpoint, HealthCheckResponse response) {
-    this.endpoint = endpoint;
-    this.healthCheckResponses.addLast(response);
+    this(endpoint);
+    addLast(response);
   }
 
   public HealthCheckResponses(Endpoint endpoint) {
+    this(endpoint, DEFAULT_CAPACITY, null);
+  }
+
+  public HealthCheckResponses(Endpoint endpoint, int capacity, Duration maxAge) {
+    this(endpoint, capacity, maxAge, new Rollups());
+  }
+
+  public HealthCheckResponses(Endpoint endpoint, int capacity, Duration maxAge, Rollups rollups) {
     this.endpoint = endpoint;
+    this.maxAge = maxAge;
+    this.healthCheckResponses = new ResponseSeries(capacity);
+    this.rollups = rollups;
   }
 
   public Endpoint getEndpoint() {
     return endpoint;
   }
 
-  public LinkedList<HealthCheckResponse> getHealthCheckResponse() {
-    return healthCheckResponses;
+  public ResponseSeries getHealthCheckResponse() {
+    return getLatest(Integer.MAX_VALUE);
+  }
+
+  public ResponseSeries getLatest(int count) {
+    return read(() -> healthCheckResponses.latest(count));
+  }
+
+  public Optional<HealthCheckResponse> getLastResponse() {
+    return read(() -> healthCheckResponses.isEmpty() ? empty() : of(healthCheckResponses.getLast()));
   }
 
+  public List<Rollup> getRollups(
+      RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+    return read(() -> rollups.get(resolution, from, to));
+  }
+
+  // Keeps the last capacity responses, and of those only the ones within maxAge of the newest.
+  // Rollups take every response, so they outlive the raw points.
   public void addLast(HealthCheckResponse response) {
-    healthCheckResponses.addLast(response);
+    final StampedLock lock = lock();
+    final long stamp = lock.writeLock();
+    try {
+      healthCheckResponses.addLast(response);
+      rollups.add(response.getTime(), response.getStatus(), response.getDelay());
+      if (maxAge != null) {
+        final LocalDateTime oldest = response.getTime().minus(maxAge);
+        while (healthCheckResponses.timeAt(0).isBefore(oldest)) {
+          healthCheckResponses.removeFirst();
+        }
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   public float getUptime() {
-    float totalTicks = healthCheckResponses.size();
-    float totalNoOk =
-        healthCheckResponses.stream()
-            .filter(r -> r.getStatus() != OK.value())
-            .collect(toList())
-            .size();
-    return valueOf(
-        new DecimalFormat("##.##", ENGLISH_SYMBOLS)
-            .format((totalTicks - totalNoOk) / totalTicks * 100)
-    );
+    return read(
+        () -> {
+          final int total = healthCheckResponses.size();
+          return total == 0 ? 0 : round(healthCheckResponses.getOkCount() * 10000f / total) / 100f;
+        });
   }
 
   public double getAverage() {
-    return Double.valueOf(
-        new DecimalFormat("##", ENGLISH_SYMBOLS)
-            .format(
-                healthCheckResponses.stream()
-                    .mapToLong(response -> response.getDelay())
-                    .summaryStatistics()
-                    .getAverage()));
+    return read(
+        () -> {
+          final int total = healthCheckResponses.size();
+          return total == 0 ? 0 : round((double) healthCheckResponses.getDelaySum() / total);
+        });
+  }
+
+  // Histories share 256 striped locks. Readers never block the crawler: an optimistic read that
+  // raced a write, and may have seen the ring half updated, is done again under the read lock.
+  private <T> T read(Supplier<T> reader) {
+    final StampedLock lock = lock();
+    final long optimistic = lock.tryOptimisticRead();
+    if (optimistic != 0) {
+      try {
+        final T value = reader.get();
+        if (lock.validate(optimistic)) {
+          return value;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(optimistic)) {
+          throw e;
+        }
+      }
+    }
+    final long stamp = lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private StampedLock lock() {
+    return LOCKS[identityHashCode(this) & (LOCKS.length - 1)];
+  }
+
+  private static StampedLock[] stripes(int count) {
+    final StampedLock[] locks = new StampedLock[count];
+    setAll(locks, i -> new StampedLock());
+    return locks;
   }
 }
@@ -1,6 +1,29 @@
 package com.alexmoleiro.healthchecker.core.healthCheck;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.PROBED;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
 public interface HealthChecker {
 
   HealthCheckResponse check(HttpUrl httpUrl);
-}
\ No newline at end of file
+
+  // Says where the response came from, so callers know whether it is already in the repository.
+  default CheckedResponse checkWithSource(HttpUrl httpUrl) {
+    return new CheckedResponse(check(httpUrl), PROBED);
+  }
+
+  default CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl) {
+    return supplyAsync(() -> check(httpUrl));
+  }
+
+  default HealthCheckResponse check(HttpUrl httpUrl, Duration timeout) {
+    return check(httpUrl);
+  }
+
+  default CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl, Duration timeout) {
+    return checkAsync(httpUrl);
+  }
+}
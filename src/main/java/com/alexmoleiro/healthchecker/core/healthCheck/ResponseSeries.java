@@ -0,0 +1,355 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+import static java.time.Duration.ofMillis;
+import static java.time.ZoneOffset.UTC;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * The last capacity responses of an endpoint, kept in parallel primitive arrays used as a ring.
+ * Responses are rebuilt when read, with their phase timings, hops saved and, for retried checks,
+ * their attempts; a single attempt is not kept, it only repeats the check's own status and delay.
+ * Time to first byte gets its own column, allocated once a response carries it; the DNS, connect
+ * and TLS columns are only allocated once a response carries one of those phases.
+ * Ok count and delay sum are kept up to date on every append and eviction.
+ * Not thread safe: HealthCheckResponses guards the live series and hands out copies.
+ */
+public class ResponseSeries extends AbstractList<HealthCheckResponse> {
+
+  private static final int INITIAL_SIZE = 8;
+  private static final int ABSENT = -1;
+  private static final int NO_TIMINGS = -2;
+  private static final int PHASES = 3;
+  private final int capacity;
+  private final List<HttpUrl> urls = new ArrayList<>(1);
+  private int[] urlCounts = new int[1];
+  private short[] statuses;
+  private int[] delays;
+  private long[] times;
+  private int[] timeouts;
+  private short[] urlIndexes;
+  private byte[] hops;
+  private int[] ttfbs;
+  private int[][] phases;
+  private Map<Integer, List<CheckAttempt>> retried;
+  private HealthCheckResponse last;
+  private int head;
+  private int size;
+  private int ok;
+  private long delaySum;
+
+  public ResponseSeries(int capacity) {
+    this(capacity, min(INITIAL_SIZE, capacity));
+    if (capacity > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("At most " + Short.MAX_VALUE + " responses per series");
+    }
+  }
+
+  private ResponseSeries(int capacity, int length) {
+    this.capacity = capacity;
+    this.statuses = new short[length];
+    this.delays = new int[length];
+    this.times = new long[length];
+    this.timeouts = new int[length];
+    this.urlIndexes = new short[length];
+    this.hops = new byte[length];
+  }
+
+  public void addLast(HealthCheckResponse response) {
+    if (size == statuses.length && size < capacity) {
+      grow(min(statuses.length * 2, capacity));
+    }
+    final int slot;
+    if (size == statuses.length) {
+      slot = head;
+      head = (head + 1) % statuses.length;
+      forget(slot);
+    } else {
+      slot = (head + size) % statuses.length;
+      size++;
+    }
+    statuses[slot] = (short) response.getStatus();
+    delays[slot] = (int) min(response.getDelay(), Integer.MAX_VALUE);
+    times[slot] = response.getTime().toInstant(UTC).toEpochMilli();
+    timeouts[slot] = millis(response.getTimeout());
+    urlIndexes[slot] = indexOf(response.getHttpUrl());
+    hops[slot] = (byte) min(response.getHopsSaved(), Byte.MAX_VALUE);
+    recordTimings(slot, response.getTimings().orElse(null));
+    if (response.getAttempts().size() > 1) {
+      retried().put(slot, response.getAttempts());
+    }
+    ok += statuses[slot] == OK.value() ? 1 : 0;
+    delaySum += delays[slot];
+    last = response;
+  }
+
+  public HealthCheckResponse removeFirst() {
+    final HealthCheckResponse first = getFirst();
+    forget(head);
+    head = (head + 1) % statuses.length;
+    size--;
+    if (size == 0) {
+      last = null;
+    }
+    return first;
+  }
+
+  public ResponseSeries latest(int count) {
+    final int n = min(count, size);
+    final ResponseSeries copy = new ResponseSeries(capacity, max(n, 1));
+    copy.urls.addAll(urls);
+    copy.urlCounts = new int[urlCounts.length];
+    if (ttfbs != null) {
+      copy.ttfbs = new int[copy.statuses.length];
+    }
+    if (phases != null) {
+      copy.phases = new int[PHASES][copy.statuses.length];
+    }
+    for (int i = 0; i < n; i++) {
+      final int slot = (head + size - n + i) % statuses.length;
+      copy.statuses[i] = statuses[slot];
+      copy.delays[i] = delays[slot];
+      copy.times[i] = times[slot];
+      copy.timeouts[i] = timeouts[slot];
+      copy.urlIndexes[i] = urlIndexes[slot];
+      copy.urlCounts[urlIndexes[slot]]++;
+      copy.hops[i] = hops[slot];
+      if (ttfbs != null) {
+        copy.ttfbs[i] = ttfbs[slot];
+      }
+      if (phases != null) {
+        for (int phase = 0; phase < PHASES; phase++) {
+          copy.phases[phase][i] = phases[phase][slot];
+        }
+      }
+      if (retried != null && retried.containsKey(slot)) {
+        copy.retried().put(i, retried.get(slot));
+      }
+      copy.ok += statuses[slot] == OK.value() ? 1 : 0;
+      copy.delaySum += delays[slot];
+    }
+    copy.size = n;
+    copy.last = n == 0 ? null : last;
+    return copy;
+  }
+
+  public HealthCheckResponse getFirst() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return get(0);
+  }
+
+  public HealthCheckResponse getLast() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return last;
+  }
+
+  @Override
+  public HealthCheckResponse get(int index) {
+    if (index == size - 1) {
+      return getLast();
+    }
+    final int slot = slot(index);
+    HealthCheckResponse response =
+        new HealthCheckResponse(
+            urls.get(urlIndexes[slot]),
+            statuses[slot],
+            ofMillis(delays[slot]),
+            timeOf(slot),
+            timingsOf(slot),
+            hops[slot]);
+    if (retried != null && retried.containsKey(slot)) {
+      response = response.withAttempts(retried.get(slot));
+    }
+    return timeouts[slot] == ABSENT ? response : response.withTimeout(ofMillis(timeouts[slot]));
+  }
+
+  public int statusAt(int index) {
+    return statuses[slot(index)];
+  }
+
+  public long delayAt(int index) {
+    return delays[slot(index)];
+  }
+
+  public LocalDateTime timeAt(int index) {
+    return timeOf(slot(index));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  public int getOkCount() {
+    return ok;
+  }
+
+  public long getDelaySum() {
+    return delaySum;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  boolean hasPhaseColumns() {
+    return phases != null;
+  }
+
+  private int slot(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return (head + index) % statuses.length;
+  }
+
+  private void forget(int slot) {
+    ok -= statuses[slot] == OK.value() ? 1 : 0;
+    delaySum -= delays[slot];
+    release(urlIndexes[slot]);
+    if (retried != null) {
+      retried.remove(slot);
+    }
+  }
+
+  private LocalDateTime timeOf(int slot) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(times[slot]), UTC);
+  }
+
+  private void recordTimings(int slot, CheckTimings timings) {
+    final int ttfb = timings == null ? ABSENT : millis(timings.getTtfb());
+    if (ttfb != ABSENT && ttfbs == null) {
+      ttfbs = new int[statuses.length];
+      Arrays.fill(ttfbs, ABSENT);
+    }
+    if (ttfbs != null) {
+      ttfbs[slot] = ttfb;
+    }
+    final boolean phased =
+        timings != null
+            && (timings.getDns().isPresent()
+                || timings.getConnect().isPresent()
+                || timings.getTls().isPresent());
+    if (phased && phases == null) {
+      phases = new int[PHASES][statuses.length];
+      Arrays.fill(phases[0], NO_TIMINGS);
+    }
+    if (phases == null) {
+      return;
+    }
+    if (!phased) {
+      phases[0][slot] = NO_TIMINGS;
+      return;
+    }
+    phases[0][slot] = millis(timings.getDns());
+    phases[1][slot] = millis(timings.getConnect());
+    phases[2][slot] = millis(timings.getTls());
+  }
+
+  // A point with neither phases nor a first byte is rebuilt without timings.
+  private CheckTimings timingsOf(int slot) {
+    final boolean phased = phases != null && phases[0][slot] != NO_TIMINGS;
+    final Duration ttfb = ttfbs == null ? null : duration(ttfbs[slot]);
+    if (!phased) {
+      return ttfb == null ? null : new CheckTimings(null, null, null, ttfb);
+    }
+    return new CheckTimings(
+        duration(phases[0][slot]), duration(phases[1][slot]), duration(phases[2][slot]), ttfb);
+  }
+
+  private Map<Integer, List<CheckAttempt>> retried() {
+    if (retried == null) {
+      retried = new HashMap<>();
+    }
+    return retried;
+  }
+
+  private static int millis(Optional<Duration> duration) {
+    return duration.map(d -> (int) min(d.toMillis(), Integer.MAX_VALUE)).orElse(ABSENT);
+  }
+
+  private static Duration duration(int millis) {
+    return millis == ABSENT ? null : ofMillis(millis);
+  }
+
+  // Almost every endpoint reports one or two distinct urls, so each point stores an index. An
+  // entry is freed once the last point using it is evicted, so the table never outgrows the ring.
+  private short indexOf(HttpUrl url) {
+    int free = ABSENT;
+    for (int i = 0; i < urls.size(); i++) {
+      final HttpUrl known = urls.get(i);
+      if (known == null) {
+        free = free == ABSENT ? i : free;
+      } else if (known.toString().equals(url.toString())) {
+        urlCounts[i]++;
+        return (short) i;
+      }
+    }
+    final int index = free == ABSENT ? urls.size() : free;
+    if (free == ABSENT) {
+      urls.add(url);
+      if (index == urlCounts.length) {
+        urlCounts = Arrays.copyOf(urlCounts, index * 2);
+      }
+    } else {
+      urls.set(index, url);
+    }
+    urlCounts[index] = 1;
+    return (short) index;
+  }
+
+  private void release(short index) {
+    if (--urlCounts[index] == 0) {
+      urls.set(index, null);
+    }
+  }
+
+  // Only called when full, so the ring is laid out again from head at index 0.
+  private void grow(int length) {
+    final int previous = statuses.length;
+    statuses = unrolled(statuses, new short[length]);
+    delays = unrolled(delays, new int[length]);
+    times = unrolled(times, new long[length]);
+    timeouts = unrolled(timeouts, new int[length]);
+    urlIndexes = unrolled(urlIndexes, new short[length]);
+    hops = unrolled(hops, new byte[length]);
+    if (ttfbs != null) {
+      ttfbs = unrolled(ttfbs, new int[length]);
+    }
+    if (phases != null) {
+      for (int phase = 0; phase < PHASES; phase++) {
+        phases[phase] = unrolled(phases[phase], new int[length]);
+      }
+    }
+    if (retried != null) {
+      final Map<Integer, List<CheckAttempt>> moved = new HashMap<>();
+      retried.forEach((slot, attempts) -> moved.put((slot - head + previous) % previous, attempts));
+      retried = moved;
+    }
+    head = 0;
+  }
+
+  private <T> T unrolled(T column, T grown) {
+    arraycopy(column, head, grown, 0, size - head);
+    arraycopy(column, 0, grown, size - head, head);
+    return grown;
+  }
+}
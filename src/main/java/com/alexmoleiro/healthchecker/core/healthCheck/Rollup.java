@@ -0,0 +1,47 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import java.time.LocalDateTime;
+
+public class Rollup {
+
+  private final LocalDateTime start;
+  private final int count;
+  private final int ok;
+  private final int minDelay;
+  private final int maxDelay;
+  private final long delaySum;
+
+  public Rollup(
+      LocalDateTime start, int count, int ok, int minDelay, int maxDelay, long delaySum) {
+    this.start = start;
+    this.count = count;
+    this.ok = ok;
+    this.minDelay = minDelay;
+    this.maxDelay = maxDelay;
+    this.delaySum = delaySum;
+  }
+
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public int getOk() {
+    return ok;
+  }
+
+  public int getMinDelay() {
+    return minDelay;
+  }
+
+  public int getMaxDelay() {
+    return maxDelay;
+  }
+
+  public long getDelaySum() {
+    return delaySum;
+  }
+}
@@ -0,0 +1,23 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import java.time.Duration;
+
+import static java.time.Duration.ofDays;
+import static java.time.Duration.ofHours;
+import static java.time.Duration.ofMinutes;
+
+public enum RollupResolution {
+  MINUTE(ofMinutes(1)),
+  HOUR(ofHours(1)),
+  DAY(ofDays(1));
+
+  private final Duration width;
+
+  RollupResolution(Duration width) {
+    this.width = width;
+  }
+
+  public Duration getWidth() {
+    return width;
+  }
+}
@@ -0,0 +1,174 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.DAY;
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.HOUR;
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.MINUTE;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.abs;
+import static java.lang.Math.floorMod;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.time.ZoneOffset.UTC;
+import static java.util.Arrays.fill;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Check counts, ok counts and min/max/sum of delays per minute, hour and day. Each resolution keeps
+ * its last retention buckets in a ring indexed by bucket number, so adding a check is O(1) and
+ * long-range uptime is answered without the raw points. Rings start small and double while the
+ * buckets they hold span more slots, up to the retention. Not thread safe, like ResponseSeries.
+ */
+public class Rollups {
+
+  public static final int MINUTES = 180;
+  public static final int HOURS = 168;
+  public static final int DAYS = 90;
+  private static final int INITIAL_SIZE = 8;
+  private final Map<RollupResolution, Buckets> buckets = new EnumMap<>(RollupResolution.class);
+
+  public Rollups() {
+    this(MINUTES, HOURS, DAYS);
+  }
+
+  public Rollups(int minutes, int hours, int days) {
+    buckets.put(MINUTE, new Buckets(MINUTE.getWidth().toMillis(), minutes));
+    buckets.put(HOUR, new Buckets(HOUR.getWidth().toMillis(), hours));
+    buckets.put(DAY, new Buckets(DAY.getWidth().toMillis(), days));
+  }
+
+  public void add(LocalDateTime time, int status, long delay) {
+    final long epochMillis = time.toInstant(UTC).toEpochMilli();
+    final int delayMillis = (int) min(delay, Integer.MAX_VALUE);
+    buckets.values().forEach(b -> b.add(epochMillis, status == OK.value(), delayMillis));
+  }
+
+  public List<Rollup> get(RollupResolution resolution, LocalDateTime from, LocalDateTime to) {
+    return buckets
+        .get(resolution)
+        .get(from.toInstant(UTC).toEpochMilli(), to.toInstant(UTC).toEpochMilli());
+  }
+
+  public int getRetention(RollupResolution resolution) {
+    return buckets.get(resolution).retention;
+  }
+
+  private static class Buckets {
+    private final long width;
+    private final int retention;
+    private long[] numbers;
+    private int[] counts;
+    private int[] oks;
+    private int[] mins;
+    private int[] maxs;
+    private long[] sums;
+    private long newest = Long.MIN_VALUE;
+
+    private Buckets(long width, int retention) {
+      this.width = width;
+      this.retention = retention;
+    }
+
+    private void add(long epochMillis, boolean ok, int delay) {
+      if (retention == 0) {
+        return;
+      }
+      if (numbers == null) {
+        allocate();
+      }
+      final long number = floorDiv(epochMillis, width);
+      while (numbers.length < retention && collides(number)) {
+        grow(min(numbers.length * 2, retention));
+      }
+      final int slot = floorMod(number, numbers.length);
+      if (numbers[slot] > number) {
+        return;
+      }
+      if (numbers[slot] < number) {
+        numbers[slot] = number;
+        counts[slot] = 0;
+        oks[slot] = 0;
+        mins[slot] = Integer.MAX_VALUE;
+        maxs[slot] = 0;
+        sums[slot] = 0;
+      }
+      counts[slot]++;
+      oks[slot] += ok ? 1 : 0;
+      mins[slot] = min(mins[slot], delay);
+      maxs[slot] = max(maxs[slot], delay);
+      sums[slot] += delay;
+      newest = max(newest, number);
+    }
+
+    private List<Rollup> get(long fromMillis, long toMillis) {
+      final List<Rollup> rollups = new ArrayList<>();
+      if (numbers == null) {
+        return rollups;
+      }
+      final long first = max(floorDiv(fromMillis, width), newest - retention + 1);
+      final long last = min(floorDiv(toMillis, width), newest);
+      for (long number = first; number <= last; number++) {
+        final int slot = floorMod(number, numbers.length);
+        if (numbers[slot] == number) {
+          rollups.add(
+              new Rollup(
+                  LocalDateTime.ofEpochSecond(number * width / 1000, 0, UTC),
+                  counts[slot],
+                  oks[slot],
+                  mins[slot],
+                  maxs[slot],
+                  sums[slot]));
+        }
+      }
+      return rollups;
+    }
+
+    // Allocated on the first check, so endpoints that are only looked up cost nothing.
+    private void allocate() {
+      allocate(min(INITIAL_SIZE, retention));
+    }
+
+    private void allocate(int length) {
+      numbers = new long[length];
+      fill(numbers, Long.MIN_VALUE);
+      counts = new int[length];
+      oks = new int[length];
+      mins = new int[length];
+      maxs = new int[length];
+      sums = new long[length];
+    }
+
+    // A smaller ring must not overwrite a bucket that the full retention would still keep.
+    private boolean collides(long number) {
+      final long held = numbers[floorMod(number, numbers.length)];
+      return held != Long.MIN_VALUE && held != number && abs(held - number) < retention;
+    }
+
+    private void grow(int length) {
+      final long[] oldNumbers = numbers;
+      final int[] oldCounts = counts;
+      final int[] oldOks = oks;
+      final int[] oldMins = mins;
+      final int[] oldMaxs = maxs;
+      final long[] oldSums = sums;
+      allocate(length);
+      for (int old = 0; old < oldNumbers.length; old++) {
+        final long number = oldNumbers[old];
+        final int slot = floorMod(number, length);
+        if (number != Long.MIN_VALUE && number > numbers[slot]) {
+          numbers[slot] = number;
+          counts[slot] = oldCounts[old];
+          oks[slot] = oldOks[old];
+          mins[slot] = oldMins[old];
+          maxs[slot] = oldMaxs[old];
+          sums[slot] = oldSums[old];
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.alexmoleiro.healthchecker.infrastructure.api;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
+import com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ClusterDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicaEndpointDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicasDto;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.ReplicatedEndpoints;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.ReplicatedHealthChecks;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers.SECRET_HEADER;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+@RestController
+public class ClusterApi {
+
+  private final ClusterMembership clusterMembership;
+  private final ClusterPeers clusterPeers;
+  private final ReplicatedEndpoints endpointRepository;
+  private final ReplicatedHealthChecks healthCheckRepository;
+
+  public ClusterApi(
+      ClusterMembership clusterMembership,
+      ClusterPeers clusterPeers,
+      ReplicatedEndpoints endpointRepository,
+      ReplicatedHealthChecks healthCheckRepository) {
+    this.clusterMembership = clusterMembership;
+    this.clusterPeers = clusterPeers;
+    this.endpointRepository = endpointRepository;
+    this.healthCheckRepository = healthCheckRepository;
+  }
+
+  @CrossOrigin(origins = "http://localhost:3000")
+  @GetMapping(value = "/cluster", produces = "application/json")
+  ClusterDto cluster() {
+    return new ClusterDto(clusterMembership, clusterPeers, endpointRepository.getAll());
+  }
+
+  // Endpoints are taken before results so that every result has its endpoint to hang off.
+  @PostMapping(value = "/cluster/replicas")
+  void replicas(
+      @RequestHeader(value = SECRET_HEADER, required = false) String secret,
+      @RequestBody ReplicasDto replicasDto,
+      HttpServletResponse response) {
+    if (!clusterPeers.accepts(secret)) {
+      response.setStatus(FORBIDDEN.value());
+      return;
+    }
+    replicasDto.getEndpoints().stream()
+        .map(ReplicaEndpointDto::toEndpoint)
+        .forEach(endpointRepository::receive);
+    replicasDto.getResults().forEach(
+        result -> {
+          endpointRepository.receive(result.toEndpoint());
+          healthCheckRepository.receive(result.toEndpoint(), result.toResponse());
+        });
+    response.setStatus(NO_CONTENT.value());
+  }
+}
@@ -0,0 +1,63 @@
+package com.alexmoleiro.healthchecker.infrastructure.api;
+
+import com.alexmoleiro.healthchecker.infrastructure.dto.CircuitBreakerDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.CrawlerDto;
+import com.alexmoleiro.healthchecker.service.CrawlCycleCoordinator;
+import com.alexmoleiro.healthchecker.service.HealthCheckerCrawler;
+import com.alexmoleiro.healthchecker.service.HttpClientPool;
+import com.alexmoleiro.healthchecker.service.RedirectCache;
+import com.alexmoleiro.healthchecker.service.TimingWheelScheduler;
+import com.alexmoleiro.healthchecker.service.dns.CachingNameResolver;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@RestController
+public class CrawlerApi {
+
+  private final HealthCheckerCrawler healthCheckerCrawler;
+  private final CrawlCycleCoordinator crawlCycleCoordinator;
+  private final TimingWheelScheduler timingWheelScheduler;
+  private final CachingNameResolver cachingNameResolver;
+  private final HttpClientPool httpClientPool;
+  private final RedirectCache redirectCache;
+
+  public CrawlerApi(
+      HealthCheckerCrawler healthCheckerCrawler,
+      CrawlCycleCoordinator crawlCycleCoordinator,
+      TimingWheelScheduler timingWheelScheduler,
+      CachingNameResolver cachingNameResolver,
+      HttpClientPool httpClientPool,
+      RedirectCache redirectCache) {
+    this.healthCheckerCrawler = healthCheckerCrawler;
+    this.crawlCycleCoordinator = crawlCycleCoordinator;
+    this.timingWheelScheduler = timingWheelScheduler;
+    this.cachingNameResolver = cachingNameResolver;
+    this.httpClientPool = httpClientPool;
+    this.redirectCache = redirectCache;
+  }
+
+  @CrossOrigin(origins = "http://localhost:3000")
+  @GetMapping(value = "/crawler", produces = "application/json")
+  CrawlerDto crawler() {
+    return new CrawlerDto(
+        healthCheckerCrawler,
+        crawlCycleCoordinator,
+        timingWheelScheduler,
+        cachingNameResolver,
+        httpClientPool,
+        redirectCache);
+  }
+
+  @CrossOrigin(origins = "http://localhost:3000")
+  @GetMapping(value = "/crawler/breakers", produces = "application/json")
+  List<CircuitBreakerDto> breakers() {
+    return healthCheckerCrawler.getBreakers().getTripped().stream()
+        .map(CircuitBreakerDto::new)
+        .collect(toList());
+  }
+}
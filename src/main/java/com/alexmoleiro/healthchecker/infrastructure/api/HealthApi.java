@@ -1,26 +1,54 @@
 package com.alexmoleiro.healthchecker.infrastructure.api;
 
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
 import com.alexmoleiro.healthchecker.core.healthCheck.InvalidHttpUrlException;
+import com.alexmoleiro.healthchecker.infrastructure.dto.BatchDto;
 import com.alexmoleiro.healthchecker.infrastructure.dto.HealthCheckResponseDto;
 import com.alexmoleiro.healthchecker.infrastructure.dto.UrlDto;
+import com.alexmoleiro.healthchecker.service.BatchCheck;
+import com.alexmoleiro.healthchecker.service.BatchChecker;
+import com.alexmoleiro.healthchecker.service.MaximumBatchSizeExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.http.HttpHeaders.ACCEPT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+import static org.springframework.http.MediaType.parseMediaType;
 
 @RestController
 public class HealthApi {
 
+  private static final String NDJSON = "application/x-ndjson";
+
   private final HealthChecker healthChecker;
+  private final BatchChecker batchChecker;
+  private final ObjectMapper objectMapper;
 
-  public HealthApi(HealthChecker healthChecker) {
+  public HealthApi(
+      HealthChecker healthChecker, BatchChecker batchChecker, ObjectMapper objectMapper) {
     this.healthChecker = healthChecker;
+    this.batchChecker = batchChecker;
+    this.objectMapper = objectMapper;
   }
 
   @CrossOrigin(origins = "http://localhost:3000")
@@ -29,10 +57,61 @@ public class HealthApi {
     return new HealthCheckResponseDto(healthChecker.check(new HttpUrl(urlDto.getUrl())));
   }
 
+  @CrossOrigin(origins = "http://localhost:3000")
+  @PostMapping("/status/batch")
+  ResponseEntity<StreamingResponseBody> healthCheckBatch(
+      @RequestBody BatchDto batchDto,
+      @RequestHeader(value = ACCEPT, defaultValue = NDJSON) String accept) {
+    if (batchDto.getUrls() == null || batchDto.getUrls().stream().anyMatch(Objects::isNull)) {
+      return ResponseEntity.badRequest().build();
+    }
+    final List<HttpUrl> urls = batchDto.getUrls().stream().map(HttpUrl::new).collect(toList());
+    final BatchCheck batch =
+        batchChecker.start(urls, Optional.ofNullable(batchDto.getConcurrency()));
+    final boolean sse = accept.contains(TEXT_EVENT_STREAM_VALUE);
+    return ResponseEntity.ok()
+        .contentType(parseMediaType(sse ? TEXT_EVENT_STREAM_VALUE : NDJSON))
+        .body(out -> stream(batch, out, sse));
+  }
+
+  // A client that goes away takes its pending checks with it.
+  private void stream(BatchCheck batch, OutputStream out, boolean sse) throws IOException {
+    try {
+      while (!batch.isDone()) {
+        final Optional<HealthCheckResponse> response = batch.take();
+        if (response.isEmpty()) {
+          for (HealthCheckResponse timedOut : batch.expire()) {
+            write(timedOut, out, sse);
+          }
+        } else {
+          write(response.get(), out, sse);
+        }
+      }
+    } catch (InterruptedException e) {
+      batch.cancel();
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      batch.cancel();
+      throw e;
+    }
+  }
+
+  private void write(HealthCheckResponse response, OutputStream out, boolean sse)
+      throws IOException {
+    final String json = objectMapper.writeValueAsString(new HealthCheckResponseDto(response));
+    out.write((sse ? "data:" + json + "\n\n" : json + "\n").getBytes(UTF_8));
+    out.flush();
+  }
+
   @ResponseStatus(value= BAD_REQUEST)
   @ExceptionHandler(InvalidHttpUrlException.class)
   public String invalidDomainNames(InvalidHttpUrlException e) {
     return e.toString();
   }
 
-}
\ No newline at end of file
+  @ResponseStatus(PAYLOAD_TOO_LARGE)
+  @ExceptionHandler(MaximumBatchSizeExceededException.class)
+  public void maximumBatchSize() {
+  }
+
+}
@@ -2,20 +2,30 @@ package com.alexmoleiro.healthchecker.infrastructure.api;
 
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution;
 import com.alexmoleiro.healthchecker.infrastructure.dto.HistoricResultsDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.RollupsDto;
 import com.alexmoleiro.healthchecker.infrastructure.dto.SiteResultsDto;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
 import static com.alexmoleiro.healthchecker.infrastructure.dto.HistoricResultsDto.list;
+import static java.time.Clock.systemUTC;
+import static java.time.LocalDateTime.now;
+import static java.time.LocalDateTime.ofEpochSecond;
+import static java.time.ZoneOffset.UTC;
 import static java.util.Collections.emptyList;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 
 @RestController
 public class HealthCheckResultsApi {
@@ -43,4 +53,22 @@ public class HealthCheckResultsApi {
         .map(e -> list(healthCheckRepository.getResponses(e)))
         .orElse(emptyList());
   }
+
+  // Without from, every retained bucket up to to (default now) is returned.
+  @CrossOrigin(origins = "http://localhost:3000")
+  @GetMapping(value = "/historical/{id}/rollups", produces = "application/json")
+  RollupsDto rollups(
+      @PathVariable String id,
+      @RequestParam(defaultValue = "HOUR") RollupResolution resolution,
+      @RequestParam(required = false) @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DATE_TIME) LocalDateTime to) {
+    final LocalDateTime until = to == null ? now(systemUTC()) : to;
+    final LocalDateTime since = from == null ? ofEpochSecond(0, 0, UTC) : from;
+    return new RollupsDto(
+        resolution,
+        endpointRepository
+            .get(id)
+            .map(e -> healthCheckRepository.getResponses(e).getRollups(resolution, since, until))
+            .orElse(emptyList()));
+  }
 }
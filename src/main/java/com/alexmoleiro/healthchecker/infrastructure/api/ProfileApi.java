@@ -22,6 +22,8 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.servlet.http.HttpServletResponse;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.MAXIMUM_ENDPOINT_PER_USER_EXCEEDED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.DEFAULT;
+import static java.time.Duration.ofSeconds;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
@@ -53,7 +55,10 @@ public class ProfileApi {
 
     profileService.addEndpointToEndpointsAndUserProfile(
             oauthService.getUser(token),
-            new Endpoint(new HttpUrl(urlDto.getUrl()))
+            new Endpoint(
+                    new HttpUrl(urlDto.getUrl()),
+                    DEFAULT,
+                    urlDto.getInterval() == null ? null : ofSeconds(urlDto.getInterval()))
     );
   }
 
@@ -0,0 +1,179 @@
+package com.alexmoleiro.healthchecker.infrastructure.cluster;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicaEndpointDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicaResultDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicasDto;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static java.net.http.HttpRequest.BodyPublishers.ofString;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * How the members of a cluster reach each other over HTTP. Each beat asks every configured member
+ * for /cluster and rebuilds the ring over the ones that answered, so the slice of a member that
+ * stops answering moves to the others and moves back once it answers again. Endpoints and results
+ * recorded here are buffered and sent to every live member on the next beat, so any member can
+ * serve the whole cluster's history from its own memory. Delivery is best effort: a member that
+ * was away is sent every endpoint when it comes back, but not the results it missed.
+ */
+public class ClusterPeers {
+
+  public static final String SECRET_HEADER = "X-Cluster-Secret";
+  private static final Logger LOGGER = getLogger(ClusterPeers.class);
+  private final ClusterMembership membership;
+  private final ObjectMapper objectMapper;
+  private final String secret;
+  private final Duration timeout;
+  private final HttpClient client;
+  private final String instance = randomUUID().toString();
+  private final Map<String, String> instances = new ConcurrentHashMap<>();
+  private final Queue<ReplicaEndpointDto> endpoints = new ConcurrentLinkedQueue<>();
+  private final Queue<ReplicaResultDto> results = new ConcurrentLinkedQueue<>();
+  private final List<Consumer<String>> joinListeners = new CopyOnWriteArrayList<>();
+
+  public ClusterPeers(
+      ClusterMembership membership, ObjectMapper objectMapper, String secret, Duration timeout) {
+    this.membership = membership;
+    this.objectMapper = objectMapper;
+    this.secret = secret;
+    this.timeout = timeout;
+    this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+  }
+
+  public void publish(Endpoint endpoint) {
+    if (!membership.isStandalone()) {
+      endpoints.add(new ReplicaEndpointDto(endpoint));
+    }
+  }
+
+  public void publish(Endpoint endpoint, HealthCheckResponse response) {
+    if (!membership.isStandalone()) {
+      results.add(new ReplicaResultDto(endpoint, response));
+    }
+  }
+
+  // Told about each member that answers for the first time, or answers from a new process.
+  public void onJoin(Consumer<String> listener) {
+    joinListeners.add(listener);
+  }
+
+  public boolean accepts(String secret) {
+    return !membership.isStandalone() && this.secret.equals(secret == null ? "" : secret);
+  }
+
+  @Scheduled(fixedDelayString = "${cluster.heartbeat}")
+  public void beat() {
+    if (membership.isStandalone()) {
+      return;
+    }
+    final Set<String> live =
+        membership.getConfigured().stream()
+            .filter(member -> !member.equals(membership.getSelf()))
+            .filter(this::answers)
+            .collect(toSet());
+    membership.setLive(live);
+    final ReplicasDto replicas = new ReplicasDto(drain(endpoints), drain(results));
+    if (!replicas.getEndpoints().isEmpty() || !replicas.getResults().isEmpty()) {
+      live.forEach(peer -> send(peer, replicas));
+    }
+  }
+
+  public void send(String peer, ReplicasDto replicas) {
+    final HttpRequest.Builder request =
+        HttpRequest.newBuilder(uri(peer, "/cluster/replicas"))
+            .timeout(timeout)
+            .header(CONTENT_TYPE, "application/json");
+    if (!secret.isEmpty()) {
+      request.header(SECRET_HEADER, secret);
+    }
+    try {
+      request.POST(ofString(objectMapper.writeValueAsString(replicas)));
+      client
+          .sendAsync(request.build(), discarding())
+          .whenComplete(
+              (response, e) -> {
+                if (e != null || response.statusCode() != NO_CONTENT.value()) {
+                  LOGGER.warn("Replicas not taken by {}", peer, e);
+                }
+              });
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public String getInstance() {
+    return instance;
+  }
+
+  private boolean answers(String peer) {
+    final Optional<String> answered = instanceOf(peer);
+    if (answered.isEmpty()) {
+      instances.remove(peer);
+      return false;
+    }
+    if (!answered.get().equals(instances.put(peer, answered.get()))) {
+      joinListeners.forEach(listener -> listener.accept(peer));
+    }
+    return true;
+  }
+
+  private Optional<String> instanceOf(String peer) {
+    try {
+      final HttpResponse<String> response =
+          client.send(
+              HttpRequest.newBuilder(uri(peer, "/cluster")).timeout(timeout).GET().build(),
+              HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != OK.value()) {
+        return Optional.empty();
+      }
+      return Optional.ofNullable(
+          objectMapper.readTree(response.body()).path("instance").asText(null));
+    } catch (IOException e) {
+      return Optional.empty();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    }
+  }
+
+  private static URI uri(String peer, String path) {
+    return URI.create("http://" + peer + path);
+  }
+
+  private static <T> List<T> drain(Queue<T> queue) {
+    final List<T> drained = new ArrayList<>();
+    for (T item = queue.poll(); item != null; item = queue.poll()) {
+      drained.add(item);
+    }
+    return drained;
+  }
+}
@@ -0,0 +1,21 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import java.util.List;
+
+public class BatchDto {
+
+  private List<String> urls;
+  private Integer concurrency;
+
+  public BatchDto() {
+  }
+
+  public List<String> getUrls() {
+    return urls;
+  }
+
+  public Integer getConcurrency() {
+    return concurrency;
+  }
+
+}
@@ -0,0 +1,43 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.Bulkheads;
+import com.alexmoleiro.healthchecker.service.crawler.LatencyTier;
+
+import java.util.List;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+
+public class BulkheadDto {
+
+  private final Bulkheads bulkheads;
+  private final LatencyTier tier;
+
+  private BulkheadDto(Bulkheads bulkheads, LatencyTier tier) {
+    this.bulkheads = bulkheads;
+    this.tier = tier;
+  }
+
+  public static List<BulkheadDto> list(Bulkheads bulkheads) {
+    return stream(LatencyTier.values())
+        .filter(tier -> bulkheads.getLimit(tier) > 0)
+        .map(tier -> new BulkheadDto(bulkheads, tier))
+        .collect(toList());
+  }
+
+  public LatencyTier getTier() {
+    return tier;
+  }
+
+  public int getInFlight() {
+    return bulkheads.getInFlight(tier);
+  }
+
+  public int getLimit() {
+    return bulkheads.getLimit(tier);
+  }
+
+  public double getUtilization() {
+    return (double) getInFlight() / getLimit();
+  }
+}
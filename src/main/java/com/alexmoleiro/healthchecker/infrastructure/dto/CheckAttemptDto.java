@@ -0,0 +1,39 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckAttempt;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@JsonPropertyOrder({"number", "status", "delay", "hedged"})
+public class CheckAttemptDto {
+
+  private final CheckAttempt attempt;
+
+  public CheckAttemptDto(CheckAttempt attempt) {
+    this.attempt = attempt;
+  }
+
+  // A single attempt says nothing the check itself doesn't, so attempts are only listed on retries.
+  public static List<CheckAttemptDto> list(List<CheckAttempt> attempts) {
+    return attempts.size() > 1 ? attempts.stream().map(CheckAttemptDto::new).collect(toList()) : null;
+  }
+
+  public int getNumber() {
+    return attempt.getNumber();
+  }
+
+  public int getStatus() {
+    return attempt.getStatus();
+  }
+
+  public long getDelay() {
+    return attempt.getDelay();
+  }
+
+  public boolean isHedged() {
+    return attempt.isHedged();
+  }
+}
@@ -0,0 +1,62 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Time to first byte is the check's own. DNS, connect and TLS are timed on a separate connection
+ * opened just before the check, since HttpClient hides its own, and are grouped under
+ * sideConnection: the check may have reused a pooled connection and paid none of them.
+ */
+@JsonInclude(NON_NULL)
+public class CheckTimingsDto {
+
+  private final CheckTimings timings;
+
+  public CheckTimingsDto(CheckTimings timings) {
+    this.timings = timings;
+  }
+
+  public SideConnectionDto getSideConnection() {
+    final boolean measured =
+        timings.getDns().isPresent()
+            || timings.getConnect().isPresent()
+            || timings.getTls().isPresent();
+    return measured ? new SideConnectionDto(timings) : null;
+  }
+
+  public Long getTtfb() {
+    return millis(timings.getTtfb());
+  }
+
+  private static Long millis(Optional<Duration> duration) {
+    return duration.map(Duration::toMillis).orElse(null);
+  }
+
+  @JsonInclude(NON_NULL)
+  public static class SideConnectionDto {
+
+    private final CheckTimings timings;
+
+    private SideConnectionDto(CheckTimings timings) {
+      this.timings = timings;
+    }
+
+    public Long getDns() {
+      return millis(timings.getDns());
+    }
+
+    public Long getConnect() {
+      return millis(timings.getConnect());
+    }
+
+    public Long getTls() {
+      return millis(timings.getTls());
+    }
+  }
+}
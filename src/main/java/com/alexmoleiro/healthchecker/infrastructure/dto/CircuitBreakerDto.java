@@ -0,0 +1,29 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.BreakerState;
+import com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers.Breaker;
+
+public class CircuitBreakerDto {
+
+  private final Breaker breaker;
+
+  public CircuitBreakerDto(Breaker breaker) {
+    this.breaker = breaker;
+  }
+
+  public String getHost() {
+    return breaker.getHost();
+  }
+
+  public BreakerState getState() {
+    return breaker.getState();
+  }
+
+  public int getFailures() {
+    return breaker.getFailures();
+  }
+
+  public String getOpenedAt() {
+    return breaker.getOpenedAt() == null ? null : breaker.getOpenedAt().toString();
+  }
+}
@@ -0,0 +1,27 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers;
+
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.HALF_OPEN;
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.OPEN;
+
+public class CircuitBreakersDto {
+
+  private final CircuitBreakers breakers;
+
+  public CircuitBreakersDto(CircuitBreakers breakers) {
+    this.breakers = breakers;
+  }
+
+  public long getOpen() {
+    return breakers.getTripped().stream().filter(b -> b.getState() == OPEN).count();
+  }
+
+  public long getHalfOpen() {
+    return breakers.getTripped().stream().filter(b -> b.getState() == HALF_OPEN).count();
+  }
+
+  public long getShortCircuited() {
+    return breakers.getShortCircuited();
+  }
+}
@@ -0,0 +1,48 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
+
+import java.util.Set;
+
+public class ClusterDto {
+
+  private final ClusterMembership membership;
+  private final ClusterPeers peers;
+  private final Set<Endpoint> endpoints;
+
+  public ClusterDto(ClusterMembership membership, ClusterPeers peers, Set<Endpoint> endpoints) {
+    this.membership = membership;
+    this.peers = peers;
+    this.endpoints = endpoints;
+  }
+
+  public String getSelf() {
+    return membership.getSelf();
+  }
+
+  public String getInstance() {
+    return peers.getInstance();
+  }
+
+  public Set<String> getConfigured() {
+    return membership.getConfigured();
+  }
+
+  public Set<String> getMembers() {
+    return membership.getMembers();
+  }
+
+  public boolean isStandalone() {
+    return membership.isStandalone();
+  }
+
+  public int getEndpoints() {
+    return endpoints.size();
+  }
+
+  public int getOwned() {
+    return membership.owned(endpoints).size();
+  }
+}
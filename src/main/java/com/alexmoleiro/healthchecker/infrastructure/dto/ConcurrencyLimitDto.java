@@ -0,0 +1,45 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.ConcurrencyLimit;
+import com.alexmoleiro.healthchecker.service.crawler.LimitDecision;
+
+public class ConcurrencyLimitDto {
+
+  private final ConcurrencyLimit limit;
+
+  public ConcurrencyLimitDto(ConcurrencyLimit limit) {
+    this.limit = limit;
+  }
+
+  public boolean isAdaptive() {
+    return limit.isAdaptive();
+  }
+
+  public int getLimit() {
+    return limit.getLimit();
+  }
+
+  public int getTarget() {
+    return limit.getTarget();
+  }
+
+  public double getMeanLatency() {
+    return limit.getMeanLatency();
+  }
+
+  public double getErrorRate() {
+    return limit.getErrorRate();
+  }
+
+  public long getIncreases() {
+    return limit.getIncreases();
+  }
+
+  public long getDecreases() {
+    return limit.getDecreases();
+  }
+
+  public LimitDecision getLastDecision() {
+    return limit.getLastDecision();
+  }
+}
@@ -0,0 +1,36 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.CrawlCycle;
+
+public class CrawlCycleDto {
+
+  private final CrawlCycle cycle;
+
+  public CrawlCycleDto(CrawlCycle cycle) {
+    this.cycle = cycle;
+  }
+
+  public String getStart() {
+    return cycle.getStart().toString();
+  }
+
+  public String getEnd() {
+    return cycle.getEnd().toString();
+  }
+
+  public long getDuration() {
+    return cycle.getDuration().toMillis();
+  }
+
+  public int getChecked() {
+    return cycle.getChecked();
+  }
+
+  public int getSkipped() {
+    return cycle.getSkipped();
+  }
+
+  public int getHopsSaved() {
+    return cycle.getHopsSaved();
+  }
+}
@@ -0,0 +1,133 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.CrawlCycleCoordinator;
+import com.alexmoleiro.healthchecker.service.HealthCheckerCrawler;
+import com.alexmoleiro.healthchecker.service.HttpClientPool;
+import com.alexmoleiro.healthchecker.service.RedirectCache;
+import com.alexmoleiro.healthchecker.service.TimingWheelScheduler;
+import com.alexmoleiro.healthchecker.service.dns.CachingNameResolver;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class CrawlerDto {
+
+  private final HealthCheckerCrawler crawler;
+  private final CrawlCycleCoordinator coordinator;
+  private final TimingWheelScheduler wheel;
+  private final CachingNameResolver resolver;
+  private final HttpClientPool clients;
+  private final RedirectCache redirects;
+
+  public CrawlerDto(
+      HealthCheckerCrawler crawler,
+      CrawlCycleCoordinator coordinator,
+      TimingWheelScheduler wheel,
+      CachingNameResolver resolver,
+      HttpClientPool clients,
+      RedirectCache redirects) {
+    this.crawler = crawler;
+    this.coordinator = coordinator;
+    this.wheel = wheel;
+    this.resolver = resolver;
+    this.clients = clients;
+    this.redirects = redirects;
+  }
+
+  public int getInFlight() {
+    return crawler.getInFlight();
+  }
+
+  public int getQueued() {
+    return crawler.getQueued();
+  }
+
+  public int getWaiting() {
+    return crawler.getWaiting();
+  }
+
+  public int getBackingOff() {
+    return crawler.getBackingOff();
+  }
+
+  public long getSpreadWindow() {
+    return crawler.getSpreadWindow().toMillis();
+  }
+
+  public long getPolitenessDeferrals() {
+    return crawler.getPolitenessDeferrals();
+  }
+
+  public long getRetries() {
+    return crawler.getRetries();
+  }
+
+  public long getHedges() {
+    return crawler.getHedges();
+  }
+
+  public long getHedgeWins() {
+    return crawler.getHedgeWins();
+  }
+
+  public long getRechecks() {
+    return crawler.getRechecks();
+  }
+
+  public CircuitBreakersDto getBreakers() {
+    return new CircuitBreakersDto(crawler.getBreakers());
+  }
+
+  public ConcurrencyLimitDto getConcurrency() {
+    return new ConcurrencyLimitDto(crawler.getLimit());
+  }
+
+  public List<BulkheadDto> getBulkheads() {
+    return BulkheadDto.list(crawler.getBulkheads());
+  }
+
+  public CrawlerExecutorDto getExecutor() {
+    return new CrawlerExecutorDto(crawler.getExecutor());
+  }
+
+  public boolean isRunning() {
+    return coordinator.isRunning();
+  }
+
+  public long getCycles() {
+    return coordinator.getCycles();
+  }
+
+  public long getSkippedTicks() {
+    return coordinator.getSkippedTicks();
+  }
+
+  public long getCoalescedTicks() {
+    return coordinator.getCoalescedTicks();
+  }
+
+  public CrawlCycleDto getLastCycle() {
+    return coordinator.getLastCycle() == null ? null : new CrawlCycleDto(coordinator.getLastCycle());
+  }
+
+  public int getWheelScheduled() {
+    return wheel.getScheduled();
+  }
+
+  public long getWheelDispatched() {
+    return wheel.getDispatched();
+  }
+
+  public DnsCacheDto getDns() {
+    return new DnsCacheDto(resolver);
+  }
+
+  public List<HttpShardDto> getHttpShards() {
+    return clients.getShards().stream().map(HttpShardDto::new).collect(toList());
+  }
+
+  public RedirectCacheDto getRedirects() {
+    return new RedirectCacheDto(redirects);
+  }
+}
@@ -0,0 +1,24 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutor;
+
+public class CrawlerExecutorDto {
+
+  private final CrawlerExecutor executor;
+
+  public CrawlerExecutorDto(CrawlerExecutor executor) {
+    this.executor = executor;
+  }
+
+  public String getType() {
+    return executor.getType().name();
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueueDepth();
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+}
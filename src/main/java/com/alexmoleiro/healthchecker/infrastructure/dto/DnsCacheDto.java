@@ -0,0 +1,36 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.dns.CachingNameResolver;
+
+public class DnsCacheDto {
+
+  private final CachingNameResolver resolver;
+
+  public DnsCacheDto(CachingNameResolver resolver) {
+    this.resolver = resolver;
+  }
+
+  public long getHits() {
+    return resolver.getHits();
+  }
+
+  public long getNegativeHits() {
+    return resolver.getNegativeHits();
+  }
+
+  public long getMisses() {
+    return resolver.getMisses();
+  }
+
+  public long getPrefetched() {
+    return resolver.getPrefetched();
+  }
+
+  public long getLookups() {
+    return resolver.getLookups();
+  }
+
+  public int getSize() {
+    return resolver.getSize();
+  }
+}
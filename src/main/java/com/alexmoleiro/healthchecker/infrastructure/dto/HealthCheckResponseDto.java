@@ -1,9 +1,16 @@
 package com.alexmoleiro.healthchecker.infrastructure.dto;
 
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
-@JsonPropertyOrder({"status", "url", "delay"})
+import java.time.Duration;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@JsonInclude(NON_NULL)
+@JsonPropertyOrder({"status", "url", "delay", "timeout", "timings", "attempts"})
 public class HealthCheckResponseDto {
 
   private final HealthCheckResponse response;
@@ -23,4 +30,16 @@ public class HealthCheckResponseDto {
   public long getDelay() {
     return response.getDelay();
   }
+
+  public Long getTimeout() {
+    return response.getTimeout().map(Duration::toMillis).orElse(null);
+  }
+
+  public CheckTimingsDto getTimings() {
+    return response.getTimings().map(CheckTimingsDto::new).orElse(null);
+  }
+
+  public List<CheckAttemptDto> getAttempts() {
+    return CheckAttemptDto.list(response.getAttempts());
+  }
 }
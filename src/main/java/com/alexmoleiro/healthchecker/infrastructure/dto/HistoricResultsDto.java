@@ -1,26 +1,43 @@
 package com.alexmoleiro.healthchecker.infrastructure.dto;
 
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
+@JsonInclude(NON_NULL)
 public class HistoricResultsDto {
 
     private String url;
     private long delay;
     private long status;
     private LocalDateTime time;
+    private Long timeout;
+    private CheckTimingsDto timings;
+    private List<CheckAttemptDto> attempts;
 
 
-    private HistoricResultsDto(String url, long delay, long status, LocalDateTime time) {
+    private HistoricResultsDto(
+            String url,
+            long delay,
+            long status,
+            LocalDateTime time,
+            Long timeout,
+            CheckTimingsDto timings,
+            List<CheckAttemptDto> attempts) {
         this.url = url;
         this.delay = delay;
         this.status = status;
         this.time = time;
+        this.timeout = timeout;
+        this.timings = timings;
+        this.attempts = attempts;
     }
 
     public static List<HistoricResultsDto> list(HealthCheckResponses responses) {
@@ -34,7 +51,10 @@ public class HistoricResultsDto {
                                     response.getUrl(),
                                     response.getDelay(),
                                     response.getStatus(),
-                                    response.getTime()))
+                                    response.getTime(),
+                                    response.getTimeout().map(Duration::toMillis).orElse(null),
+                                    response.getTimings().map(CheckTimingsDto::new).orElse(null),
+                                    CheckAttemptDto.list(response.getAttempts())))
                 .collect(toList());
     }
 
@@ -53,4 +73,16 @@ public class HistoricResultsDto {
     public String getTime() {
         return time.toString();
     }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public CheckTimingsDto getTimings() {
+        return timings;
+    }
+
+    public List<CheckAttemptDto> getAttempts() {
+        return attempts;
+    }
 }
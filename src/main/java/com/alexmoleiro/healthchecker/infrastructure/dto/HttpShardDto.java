@@ -0,0 +1,36 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.HttpClientShard;
+
+public class HttpShardDto {
+
+  private final HttpClientShard shard;
+
+  public HttpShardDto(HttpClientShard shard) {
+    this.shard = shard;
+  }
+
+  public int getShard() {
+    return shard.getIndex();
+  }
+
+  public long getRequests() {
+    return shard.getRequests();
+  }
+
+  public int getOrigins() {
+    return shard.getOrigins();
+  }
+
+  public long getHttp2Responses() {
+    return shard.getHttp2Responses();
+  }
+
+  public long getEstimatedConnections() {
+    return shard.getEstimatedConnections();
+  }
+
+  public double getEstimatedReuseRate() {
+    return shard.getEstimatedReuseRate();
+  }
+}
@@ -0,0 +1,24 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.service.RedirectCache;
+
+public class RedirectCacheDto {
+
+  private final RedirectCache redirects;
+
+  public RedirectCacheDto(RedirectCache redirects) {
+    this.redirects = redirects;
+  }
+
+  public int getSize() {
+    return redirects.getSize();
+  }
+
+  public long getHopsSaved() {
+    return redirects.getHopsSaved();
+  }
+
+  public long getRevalidations() {
+    return redirects.getRevalidations();
+  }
+}
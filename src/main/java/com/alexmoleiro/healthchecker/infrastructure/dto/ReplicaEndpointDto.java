@@ -0,0 +1,47 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.EndpointType;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.time.Duration;
+
+import static java.time.Duration.ofMillis;
+
+public class ReplicaEndpointDto {
+
+  private String id;
+  private String url;
+  private EndpointType type;
+  private Long interval;
+
+  public ReplicaEndpointDto() {
+  }
+
+  public ReplicaEndpointDto(Endpoint endpoint) {
+    this.id = endpoint.getId();
+    this.url = endpoint.getUrl();
+    this.type = endpoint.getEndpointType();
+    this.interval = endpoint.getCheckInterval().map(Duration::toMillis).orElse(null);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public EndpointType getType() {
+    return type;
+  }
+
+  public Long getInterval() {
+    return interval;
+  }
+
+  public Endpoint toEndpoint() {
+    return new Endpoint(id, new HttpUrl(url), type, interval == null ? null : ofMillis(interval));
+  }
+}
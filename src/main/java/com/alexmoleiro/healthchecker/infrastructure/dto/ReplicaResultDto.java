@@ -0,0 +1,176 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckAttempt;
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.Duration.ofMillis;
+import static java.time.ZoneOffset.UTC;
+import static java.util.stream.Collectors.toList;
+
+public class ReplicaResultDto {
+
+  private ReplicaEndpointDto endpoint;
+  private String url;
+  private int status;
+  private long delay;
+  private long time;
+  private Long timeout;
+  private int hopsSaved;
+  private boolean timed;
+  private Long dns;
+  private Long connect;
+  private Long tls;
+  private Long ttfb;
+  private List<Attempt> attempts;
+
+  public ReplicaResultDto() {
+  }
+
+  public ReplicaResultDto(Endpoint endpoint, HealthCheckResponse response) {
+    this.endpoint = new ReplicaEndpointDto(endpoint);
+    this.url = response.getUrl();
+    this.status = response.getStatus();
+    this.delay = response.getDelay();
+    this.time = response.getTime().toInstant(UTC).toEpochMilli();
+    this.timeout = response.getTimeout().map(Duration::toMillis).orElse(null);
+    this.hopsSaved = response.getHopsSaved();
+    this.timed = response.getTimings().isPresent();
+    response.getTimings().ifPresent(
+        timings -> {
+          dns = millis(timings.getDns());
+          connect = millis(timings.getConnect());
+          tls = millis(timings.getTls());
+          ttfb = millis(timings.getTtfb());
+        });
+    this.attempts = response.getAttempts().stream().map(Attempt::new).collect(toList());
+  }
+
+  public ReplicaEndpointDto getEndpoint() {
+    return endpoint;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public long getDelay() {
+    return delay;
+  }
+
+  public long getTime() {
+    return time;
+  }
+
+  public Long getTimeout() {
+    return timeout;
+  }
+
+  public int getHopsSaved() {
+    return hopsSaved;
+  }
+
+  public boolean isTimed() {
+    return timed;
+  }
+
+  public Long getDns() {
+    return dns;
+  }
+
+  public Long getConnect() {
+    return connect;
+  }
+
+  public Long getTls() {
+    return tls;
+  }
+
+  public Long getTtfb() {
+    return ttfb;
+  }
+
+  public List<Attempt> getAttempts() {
+    return attempts;
+  }
+
+  public Endpoint toEndpoint() {
+    return endpoint.toEndpoint();
+  }
+
+  public HealthCheckResponse toResponse() {
+    final HealthCheckResponse response =
+        new HealthCheckResponse(
+            new HttpUrl(url),
+            status,
+            ofMillis(delay),
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(time), UTC),
+            timed
+                ? new CheckTimings(duration(dns), duration(connect), duration(tls), duration(ttfb))
+                : null,
+            hopsSaved);
+    final HealthCheckResponse withAttempts =
+        attempts == null
+            ? response
+            : response.withAttempts(attempts.stream().map(Attempt::toAttempt).collect(toList()));
+    return timeout == null ? withAttempts : withAttempts.withTimeout(ofMillis(timeout));
+  }
+
+  private static Long millis(Optional<Duration> duration) {
+    return duration.map(Duration::toMillis).orElse(null);
+  }
+
+  private static Duration duration(Long millis) {
+    return millis == null ? null : ofMillis(millis);
+  }
+
+  public static class Attempt {
+
+    private int number;
+    private int status;
+    private long delay;
+    private boolean hedged;
+
+    public Attempt() {
+    }
+
+    private Attempt(CheckAttempt attempt) {
+      this.number = attempt.getNumber();
+      this.status = attempt.getStatus();
+      this.delay = attempt.getDelay();
+      this.hedged = attempt.isHedged();
+    }
+
+    public int getNumber() {
+      return number;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    public long getDelay() {
+      return delay;
+    }
+
+    public boolean isHedged() {
+      return hedged;
+    }
+
+    private CheckAttempt toAttempt() {
+      return new CheckAttempt(number, status, delay, hedged);
+    }
+  }
+}
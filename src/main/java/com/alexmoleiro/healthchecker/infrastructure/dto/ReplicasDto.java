@@ -0,0 +1,25 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import java.util.List;
+
+public class ReplicasDto {
+
+  private List<ReplicaEndpointDto> endpoints;
+  private List<ReplicaResultDto> results;
+
+  public ReplicasDto() {
+  }
+
+  public ReplicasDto(List<ReplicaEndpointDto> endpoints, List<ReplicaResultDto> results) {
+    this.endpoints = endpoints;
+    this.results = results;
+  }
+
+  public List<ReplicaEndpointDto> getEndpoints() {
+    return endpoints == null ? List.of() : endpoints;
+  }
+
+  public List<ReplicaResultDto> getResults() {
+    return results == null ? List.of() : results;
+  }
+}
@@ -0,0 +1,40 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Rollup;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import static java.lang.Math.round;
+
+@JsonPropertyOrder({"start", "count", "uptime", "average", "min", "max"})
+public class RollupDto {
+
+  private final Rollup rollup;
+
+  public RollupDto(Rollup rollup) {
+    this.rollup = rollup;
+  }
+
+  public String getStart() {
+    return rollup.getStart().toString();
+  }
+
+  public int getCount() {
+    return rollup.getCount();
+  }
+
+  public float getUptime() {
+    return round(rollup.getOk() * 10000f / rollup.getCount()) / 100f;
+  }
+
+  public double getAverage() {
+    return round((double) rollup.getDelaySum() / rollup.getCount());
+  }
+
+  public int getMin() {
+    return rollup.getMinDelay();
+  }
+
+  public int getMax() {
+    return rollup.getMaxDelay();
+  }
+}
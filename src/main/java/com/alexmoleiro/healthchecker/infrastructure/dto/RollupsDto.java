@@ -0,0 +1,46 @@
+package com.alexmoleiro.healthchecker.infrastructure.dto;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Rollup;
+import com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+import static java.lang.Math.round;
+import static java.util.stream.Collectors.toList;
+
+@JsonPropertyOrder({"resolution", "count", "uptime", "average", "buckets"})
+public class RollupsDto {
+
+  private final RollupResolution resolution;
+  private final List<Rollup> rollups;
+
+  public RollupsDto(RollupResolution resolution, List<Rollup> rollups) {
+    this.resolution = resolution;
+    this.rollups = rollups;
+  }
+
+  public RollupResolution getResolution() {
+    return resolution;
+  }
+
+  public long getCount() {
+    return rollups.stream().mapToLong(Rollup::getCount).sum();
+  }
+
+  public float getUptime() {
+    final long count = getCount();
+    final long ok = rollups.stream().mapToLong(Rollup::getOk).sum();
+    return count == 0 ? 0 : round(ok * 10000f / count) / 100f;
+  }
+
+  public double getAverage() {
+    final long count = getCount();
+    final long delaySum = rollups.stream().mapToLong(Rollup::getDelaySum).sum();
+    return count == 0 ? 0 : round((double) delaySum / count);
+  }
+
+  public List<RollupDto> getBuckets() {
+    return rollups.stream().map(RollupDto::new).collect(toList());
+  }
+}
@@ -15,19 +15,7 @@ public class SiteResultsDto {
   }
 
   public List<TimedSitedResultDto> getResponses() {
-    return responses.stream()
-        .map(
-            responses ->
-                new TimedSitedResultDto(
-                    new HealthCheckResponses(
-                        responses.getEndpoint(),
-                        responses.getHealthCheckResponse().getLast()
-                    ),
-                    responses.getUptime(),
-                    responses.getAverage()
-
-                ))
-        .collect(toList());
+    return responses.stream().map(TimedSitedResultDto::new).collect(toList());
   }
 
   public int getNumUrls() {
@@ -5,15 +5,11 @@ import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
 
 public class TimedSitedResultDto {
   private final HealthCheckResponses healthCheckResponses;
-  private HealthCheckResponse lastResponse;
-  private final float uptime;
-  private final double average;
+  private final HealthCheckResponse lastResponse;
 
-  public TimedSitedResultDto(HealthCheckResponses healthCheckResponses, float uptime, double average) {
+  public TimedSitedResultDto(HealthCheckResponses healthCheckResponses) {
     this.healthCheckResponses = healthCheckResponses;
-    this.lastResponse = healthCheckResponses.getHealthCheckResponse().getLast();
-    this.uptime = uptime;
-    this.average = average;
+    this.lastResponse = healthCheckResponses.getLastResponse().orElseThrow();
   }
 
   public String getId() {
@@ -37,10 +33,10 @@ public class TimedSitedResultDto {
   }
 
   public double getAverage() {
-    return  average;
+    return healthCheckResponses.getAverage();
   }
 
   public float getUptime() {
-    return  uptime;
+    return healthCheckResponses.getUptime();
   }
 }
@@ -3,6 +3,7 @@ package com.alexmoleiro.healthchecker.infrastructure.dto;
 public class UrlDto {
 
   private  String url;
+  private Long interval;
 
   public UrlDto() {
   }
@@ -11,4 +12,8 @@ public class UrlDto {
     return url;
   }
 
+  public Long getInterval() {
+    return interval;
+  }
+
 }
@@ -7,6 +7,7 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.HashMap;
@@ -22,6 +23,7 @@ import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 public class ThrottleFilter implements Filter {
 
   private static final int ONE = 1;
+  private static final String CLUSTER = "/cluster";
   private final int dailyTokens;
   private final int minutelyToken;
   private Map<String, Bucket> minuteBucket = new HashMap<>();
@@ -37,6 +39,12 @@ public class ThrottleFilter implements Filter {
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
       throws IOException, ServletException {
 
+    // Members of a cluster beat and replicate far more often than any client is allowed to.
+    if (((HttpServletRequest) request).getRequestURI().startsWith(CLUSTER)) {
+      chain.doFilter(request, response);
+      return;
+    }
+
     final String remoteAddr = request.getRemoteAddr();
 
     minuteBucket.computeIfAbsent(
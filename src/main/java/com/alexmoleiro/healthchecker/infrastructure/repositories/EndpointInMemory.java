@@ -3,17 +3,17 @@ package com.alexmoleiro.healthchecker.infrastructure.repositories;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Optional.ofNullable;
 
 public class EndpointInMemory implements EndpointRepository {
 
-    private Map<String, Endpoint> endpoints = new HashMap<>();
+    private Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
 
     @Override
     public void add(Endpoint endpoint) {
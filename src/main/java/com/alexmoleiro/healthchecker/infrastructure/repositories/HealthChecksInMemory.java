@@ -5,19 +5,42 @@ import com.alexmoleiro.healthchecker.core.healthCheck.EndpointType;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.core.healthCheck.Rollups;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+import static com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses.DEFAULT_CAPACITY;
 import static java.util.stream.Collectors.toList;
 
+// Appends lock only the endpoint's own history; readers get copies and never block the crawler.
+// Histories are keyed by url, which is what makes two endpoints equal.
 public class HealthChecksInMemory implements HealthCheckRepository {
 
-  private Map<Endpoint, HealthCheckResponses> siteResults = new HashMap<>();
+  private final Map<String, HealthCheckResponses> siteResults = new ConcurrentHashMap<>();
+  private final int capacity;
+  private final Duration maxAge;
+  private final Supplier<Rollups> rollups;
 
-  public HealthChecksInMemory() {}
+  public HealthChecksInMemory() {
+    this(DEFAULT_CAPACITY, null);
+  }
+
+  public HealthChecksInMemory(int capacity, Duration maxAge) {
+    this(capacity, maxAge, Rollups::new);
+  }
+
+  public HealthChecksInMemory(int capacity, Duration maxAge, Supplier<Rollups> rollups) {
+    this.capacity = capacity;
+    this.maxAge = maxAge;
+    this.rollups = rollups;
+  }
 
   @Override
   public List<HealthCheckResponses> getResponses(EndpointType endpointType) {
@@ -33,16 +56,23 @@ public class HealthChecksInMemory implements HealthCheckRepository {
 
   @Override
   public HealthCheckResponses getResponses(Endpoint endpoint) {
-    return siteResults.getOrDefault(endpoint, new HealthCheckResponses(endpoint));
+    final HealthCheckResponses responses = siteResults.get(endpoint.getUrl());
+    return responses == null ? new HealthCheckResponses(endpoint) : responses;
+  }
+
+  @Override
+  public Optional<HealthCheckResponse> getLastResponse(HttpUrl httpUrl) {
+    final HealthCheckResponses responses = siteResults.get(httpUrl.toString());
+    return responses == null ? Optional.empty() : responses.getLastResponse();
   }
 
   @Override
   public void add(Endpoint endpoint, HealthCheckResponse response) {
-    if (!siteResults.containsKey(endpoint)) {
-      siteResults.put(endpoint, new HealthCheckResponses(endpoint, response));
-    } else {
-      siteResults.get(endpoint).addLast(response);
-    }
+    siteResults
+        .computeIfAbsent(
+            endpoint.getUrl(),
+            url -> new HealthCheckResponses(endpoint, capacity, maxAge, rollups.get()))
+        .addLast(response);
   }
 
   public void deleteAll() {
@@ -0,0 +1,51 @@
+package com.alexmoleiro.healthchecker.infrastructure.repositories;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
+import com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicaEndpointDto;
+import com.alexmoleiro.healthchecker.infrastructure.dto.ReplicasDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+
+// Endpoints registered on any member are known by the same id on all of them, and a member that
+// joins is sent every endpoint so it can take its slice of the ring straight away.
+public class ReplicatedEndpoints implements EndpointRepository {
+
+  private final EndpointRepository local;
+  private final ClusterPeers peers;
+
+  public ReplicatedEndpoints(EndpointRepository local, ClusterPeers peers) {
+    this.local = local;
+    this.peers = peers;
+    peers.onJoin(peer -> peers.send(peer, new ReplicasDto(all(), List.of())));
+  }
+
+  @Override
+  public void add(Endpoint endpoint) {
+    local.add(endpoint);
+    peers.publish(endpoint);
+  }
+
+  public void receive(Endpoint endpoint) {
+    local.add(endpoint);
+  }
+
+  @Override
+  public Optional<Endpoint> get(String id) {
+    return local.get(id);
+  }
+
+  @Override
+  public Set<Endpoint> getAll() {
+    return local.getAll();
+  }
+
+  private List<ReplicaEndpointDto> all() {
+    return local.getAll().stream().map(ReplicaEndpointDto::new).collect(toList());
+  }
+}
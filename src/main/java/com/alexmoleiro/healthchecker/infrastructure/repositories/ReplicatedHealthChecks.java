@@ -0,0 +1,61 @@
+package com.alexmoleiro.healthchecker.infrastructure.repositories;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.EndpointType;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.cluster.ClusterPeers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Results checked here are kept locally and sent to the other members; theirs come in through
+// receive, so every member answers for the endpoints it does not own.
+public class ReplicatedHealthChecks implements HealthCheckRepository {
+
+  private final HealthCheckRepository local;
+  private final ClusterPeers peers;
+
+  public ReplicatedHealthChecks(HealthCheckRepository local, ClusterPeers peers) {
+    this.local = local;
+    this.peers = peers;
+  }
+
+  @Override
+  public List<HealthCheckResponses> getResponses(EndpointType endpointType) {
+    return local.getResponses(endpointType);
+  }
+
+  @Override
+  public List<HealthCheckResponses> getResponses(Set<Endpoint> endpoints) {
+    return local.getResponses(endpoints);
+  }
+
+  @Override
+  public HealthCheckResponses getResponses(Endpoint endpoint) {
+    return local.getResponses(endpoint);
+  }
+
+  @Override
+  public Optional<HealthCheckResponse> getLastResponse(HttpUrl httpUrl) {
+    return local.getLastResponse(httpUrl);
+  }
+
+  @Override
+  public void add(Endpoint endpoint, HealthCheckResponse response) {
+    local.add(endpoint, response);
+    peers.publish(endpoint, response);
+  }
+
+  public void receive(Endpoint endpoint, HealthCheckResponse response) {
+    local.add(endpoint, response);
+  }
+
+  @Override
+  public void deleteAll() {
+    local.deleteAll();
+  }
+}
@@ -0,0 +1,105 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.time.Clock.systemUTC;
+import static java.time.LocalDateTime.now;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * On-demand checks of a list of urls run on the crawler, at most concurrency of them at a time.
+ * Results are handed out in completion order; whatever is unanswered at the deadline is reported
+ * as a timeout, and checks still queued or running then are cancelled.
+ */
+public class BatchCheck {
+
+  private final HealthCheckerCrawler crawler;
+  private final Iterator<HttpUrl> urls;
+  private final int size;
+  private final long deadline;
+  private final BlockingQueue<HealthCheckResponse> results = new LinkedBlockingQueue<>();
+  private final Map<HttpUrl, CompletableFuture<HealthCheckResponse>> unanswered =
+      new ConcurrentHashMap<>();
+  private int taken;
+  private boolean expired;
+
+  public BatchCheck(
+      HealthCheckerCrawler crawler, List<HttpUrl> urls, int concurrency, Duration deadline) {
+    this.crawler = crawler;
+    this.urls = urls.iterator();
+    this.size = urls.size();
+    this.deadline = nanoTime() + deadline.toNanos();
+    for (int i = 0; i < min(max(concurrency, 1), size); i++) {
+      submitNext();
+    }
+  }
+
+  public boolean isDone() {
+    return taken == size;
+  }
+
+  public Optional<HealthCheckResponse> take() throws InterruptedException {
+    final HealthCheckResponse response = results.poll(max(deadline - nanoTime(), 0), NANOSECONDS);
+    if (response != null) {
+      taken++;
+    }
+    return Optional.ofNullable(response);
+  }
+
+  public synchronized List<HealthCheckResponse> expire() {
+    final List<HealthCheckResponse> timedOut = new ArrayList<>();
+    results.drainTo(timedOut);
+    unanswered.keySet().forEach(url -> timedOut.add(timedOut(url)));
+    urls.forEachRemaining(url -> timedOut.add(timedOut(url)));
+    cancel();
+    return timedOut;
+  }
+
+  public synchronized void cancel() {
+    expired = true;
+    final List<CompletableFuture<HealthCheckResponse>> pending =
+        new ArrayList<>(unanswered.values());
+    unanswered.clear();
+    pending.forEach(check -> check.cancel(true));
+    taken = size;
+  }
+
+  private synchronized void submitNext() {
+    if (expired || !urls.hasNext()) {
+      return;
+    }
+    final HttpUrl url = urls.next();
+    final CompletableFuture<HealthCheckResponse> check = crawler.submit(new Endpoint(url));
+    unanswered.put(url, check);
+    check.whenComplete(
+        (response, e) -> {
+          if (unanswered.remove(url, check)) {
+            results.add(e == null ? response : timedOut(url));
+          }
+          submitNext();
+        });
+  }
+
+  private HealthCheckResponse timedOut(HttpUrl url) {
+    final LocalDateTime now = now(systemUTC());
+    return new HealthCheckResponse(url, SERVER_TIMEOUT.value(), now, now);
+  }
+}
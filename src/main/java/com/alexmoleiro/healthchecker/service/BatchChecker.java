@@ -0,0 +1,33 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.Math.min;
+
+public class BatchChecker {
+
+  private final HealthCheckerCrawler crawler;
+  private final int maxConcurrency;
+  private final Duration deadline;
+  private final int maxUrls;
+
+  public BatchChecker(
+      HealthCheckerCrawler crawler, int maxConcurrency, Duration deadline, int maxUrls) {
+    this.crawler = crawler;
+    this.maxConcurrency = maxConcurrency;
+    this.deadline = deadline;
+    this.maxUrls = maxUrls;
+  }
+
+  public BatchCheck start(List<HttpUrl> urls, Optional<Integer> concurrency) {
+    if (urls.size() > maxUrls) {
+      throw new MaximumBatchSizeExceededException();
+    }
+    return new BatchCheck(
+        crawler, urls, min(concurrency.orElse(maxConcurrency), maxConcurrency), deadline);
+  }
+}
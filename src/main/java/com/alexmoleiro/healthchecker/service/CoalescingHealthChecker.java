@@ -0,0 +1,165 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.CACHED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.PROBED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.RECORDED;
+import static java.time.Clock.systemUTC;
+import static java.time.LocalDateTime.now;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * On-demand checks go through here: a url checked less than ttl ago, by anyone or by the crawler,
+ * gets that result back, and concurrent checks of the same url share a single probe. Probes are
+ * remembered in the order they finished and forgotten once they are older than ttl.
+ */
+public class CoalescingHealthChecker implements HealthChecker {
+
+  private final HealthChecker healthChecker;
+  private final HealthCheckRepository healthCheckRepository;
+  private final Duration ttl;
+  private final Map<String, CompletableFuture<HealthCheckResponse>> inFlight =
+      new ConcurrentHashMap<>();
+  private final Map<String, HealthCheckResponse> recent = new ConcurrentHashMap<>();
+  private final Queue<Entry<String, HealthCheckResponse>> remembered =
+      new ConcurrentLinkedQueue<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public CoalescingHealthChecker(
+      HealthChecker healthChecker, HealthCheckRepository healthCheckRepository, Duration ttl) {
+    this.healthChecker = healthChecker;
+    this.healthCheckRepository = healthCheckRepository;
+    this.ttl = ttl;
+  }
+
+  @Override
+  public HealthCheckResponse check(HttpUrl httpUrl) {
+    return checkWithSource(httpUrl).getResponse();
+  }
+
+  @Override
+  public CheckedResponse checkWithSource(HttpUrl httpUrl) {
+    final Optional<CheckedResponse> cached = cached(httpUrl);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    try {
+      return new CheckedResponse(shared(httpUrl, this::probe).join(), PROBED);
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl) {
+    return cached(httpUrl)
+        .map(CheckedResponse::getResponse)
+        .map(CompletableFuture::completedFuture)
+        .orElseGet(() -> shared(httpUrl, healthChecker::checkAsync));
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getCoalesced() {
+    return coalesced.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  int getRemembered() {
+    return recent.size();
+  }
+
+  private CompletableFuture<HealthCheckResponse> shared(
+      HttpUrl httpUrl, Function<HttpUrl, CompletableFuture<HealthCheckResponse>> probe) {
+    final String key = httpUrl.toString();
+    final CompletableFuture<HealthCheckResponse> mine = new CompletableFuture<>();
+    final CompletableFuture<HealthCheckResponse> running = inFlight.putIfAbsent(key, mine);
+    if (running != null) {
+      coalesced.incrementAndGet();
+      return running;
+    }
+    misses.incrementAndGet();
+    probe
+        .apply(httpUrl)
+        .whenComplete(
+            (response, e) -> {
+              if (e == null) {
+                remember(key, response);
+              }
+              inFlight.remove(key, mine);
+              if (e == null) {
+                mine.complete(response);
+              } else {
+                mine.completeExceptionally(e);
+              }
+            });
+    return mine;
+  }
+
+  private CompletableFuture<HealthCheckResponse> probe(HttpUrl httpUrl) {
+    try {
+      return completedFuture(healthChecker.check(httpUrl));
+    } catch (RuntimeException e) {
+      return failedFuture(e);
+    }
+  }
+
+  // On a tie the repository wins: a probe someone already stored is reported as recorded.
+  private Optional<CheckedResponse> cached(HttpUrl httpUrl) {
+    final LocalDateTime oldest = now(systemUTC()).minus(ttl);
+    final Optional<CheckedResponse> latest =
+        Stream.of(
+                new CheckedResponse(
+                    healthCheckRepository.getLastResponse(httpUrl).orElse(null), RECORDED),
+                new CheckedResponse(recent.get(httpUrl.toString()), CACHED))
+            .filter(
+                checked ->
+                    checked.getResponse() != null
+                        && checked.getResponse().getTime().isAfter(oldest))
+            .max(comparing(checked -> checked.getResponse().getTime()));
+    latest.ifPresent(response -> hits.incrementAndGet());
+    return latest;
+  }
+
+  private void remember(String key, HealthCheckResponse response) {
+    recent.put(key, response);
+    remembered.add(new SimpleImmutableEntry<>(key, response));
+    final LocalDateTime oldest = now(systemUTC()).minus(ttl);
+    for (Entry<String, HealthCheckResponse> first = remembered.peek();
+        first != null && !first.getValue().getTime().isAfter(oldest);
+        first = remembered.peek()) {
+      if (remembered.remove(first)) {
+        recent.remove(first.getKey(), first.getValue());
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlCycle;
+import com.alexmoleiro.healthchecker.service.crawler.OverlapPolicy;
+import org.slf4j.Logger;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.alexmoleiro.healthchecker.service.crawler.OverlapPolicy.COALESCE;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class CrawlCycleCoordinator implements CrawlTrigger {
+  private static final Logger LOGGER = getLogger(CrawlCycleCoordinator.class);
+  private final HealthCheckerCrawler healthCheckerCrawler;
+  private final OverlapPolicy overlapPolicy;
+  private boolean running;
+  private Supplier<Set<Endpoint>> coalesced;
+  private CrawlCycle lastCycle;
+  private long cycles;
+  private long skippedTicks;
+  private long coalescedTicks;
+
+  public CrawlCycleCoordinator(HealthCheckerCrawler healthCheckerCrawler, OverlapPolicy overlapPolicy) {
+    this.healthCheckerCrawler = healthCheckerCrawler;
+    this.overlapPolicy = overlapPolicy;
+  }
+
+  @Override
+  public synchronized void tick(Supplier<Set<Endpoint>> endpoints) {
+    if (!running) {
+      start(endpoints);
+    } else if (overlapPolicy == COALESCE) {
+      coalesced = endpoints;
+      coalescedTicks++;
+    } else {
+      skippedTicks++;
+    }
+  }
+
+  private void start(Supplier<Set<Endpoint>> endpoints) {
+    running = true;
+    cycles++;
+    completedFuture(endpoints)
+        .thenCompose(supplier -> healthCheckerCrawler.run(supplier.get()))
+        .whenComplete(this::finish);
+  }
+
+  private synchronized void finish(CrawlCycle cycle, Throwable e) {
+    running = false;
+    if (e == null) {
+      lastCycle = cycle;
+      LOGGER.info("Crawl cycle finished {}", cycle);
+    } else {
+      LOGGER.warn("Crawl cycle failed", e);
+    }
+    if (coalesced != null) {
+      final Supplier<Set<Endpoint>> next = coalesced;
+      coalesced = null;
+      start(next);
+    }
+  }
+
+  public synchronized boolean isRunning() {
+    return running;
+  }
+
+  public synchronized CrawlCycle getLastCycle() {
+    return lastCycle;
+  }
+
+  public synchronized long getCycles() {
+    return cycles;
+  }
+
+  public synchronized long getSkippedTicks() {
+    return skippedTicks;
+  }
+
+  public synchronized long getCoalescedTicks() {
+    return coalescedTicks;
+  }
+}
@@ -0,0 +1,11 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+public interface CrawlTrigger {
+
+  void tick(Supplier<Set<Endpoint>> endpoints);
+}
@@ -4,6 +4,7 @@ import com.alexmoleiro.healthchecker.core.healthCheck.DomainsRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
@@ -11,17 +12,27 @@ import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDIN
 
 public class EndpointService {
 
-    private final HealthCheckerCrawler healthCheckerCrawler;
+    private final CrawlTrigger crawlTrigger;
     private final EndpointRepository endpointRepository;
     private final DomainsRepository domainsRepository;
+    private final ClusterMembership clusterMembership;
 
     public EndpointService(
-            HealthCheckerCrawler healthCheckerCrawler,
+            CrawlTrigger crawlTrigger,
             DomainsRepository domainsRepository,
             EndpointRepository endpointRepository) {
+        this(crawlTrigger, domainsRepository, endpointRepository, ClusterMembership.standalone());
+    }
+
+    public EndpointService(
+            CrawlTrigger crawlTrigger,
+            DomainsRepository domainsRepository,
+            EndpointRepository endpointRepository,
+            ClusterMembership clusterMembership) {
         this.endpointRepository = endpointRepository;
-        this.healthCheckerCrawler = healthCheckerCrawler;
+        this.crawlTrigger = crawlTrigger;
         this.domainsRepository = domainsRepository;
+        this.clusterMembership = clusterMembership;
 
         this.domainsToEndpoints();
     }
@@ -33,7 +44,7 @@ public class EndpointService {
 
     @Scheduled(cron = "${cron.expression}")
     public void crawlerJob() {
-        healthCheckerCrawler.run(endpointRepository.getAll());
+        crawlTrigger.tick(() -> clusterMembership.owned(endpointRepository.getAll()));
     }
 
 }
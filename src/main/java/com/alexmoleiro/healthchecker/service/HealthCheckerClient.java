@@ -1,77 +1,290 @@
 package com.alexmoleiro.healthchecker.service;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.RedirectCache.Redirect;
 
 import javax.net.ssl.SSLHandshakeException;
 import java.io.IOException;
-import java.net.ConnectException;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SSL_CERTIFICATE_ERROR;
 import static com.alexmoleiro.healthchecker.core.healthCheck.UserAgent.random;
+import static com.alexmoleiro.healthchecker.service.ProbeMethod.GET;
+import static com.alexmoleiro.healthchecker.service.ProbeMethod.HEAD;
+import static com.alexmoleiro.healthchecker.service.ProbeMethod.HEAD_THEN_GET;
+import static com.alexmoleiro.healthchecker.service.RedirectCache.isSuccessful;
+import static java.lang.System.nanoTime;
 import static java.net.URI.create;
+import static java.net.http.HttpRequest.BodyPublishers.noBody;
 import static java.net.http.HttpRequest.newBuilder;
 import static java.net.http.HttpResponse.BodyHandlers.discarding;
 import static java.time.Clock.systemUTC;
+import static java.time.Duration.ofNanos;
 import static java.time.LocalDateTime.now;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
 import static org.springframework.http.HttpHeaders.USER_AGENT;
+import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
+import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
 import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 public class HealthCheckerClient implements HealthChecker {
 
-  private final HttpClient client;
+  private final HttpClientPool clients;
   private final Duration timeout;
+  private final ProbeMethod probeMethod;
+  private final PhaseTimer phaseTimer;
+  private final RedirectCache redirects;
+  private final Set<String> headUnsupported = ConcurrentHashMap.newKeySet();
 
   public HealthCheckerClient(HttpClient client, Duration timeout) {
-    this.client = client;
+    this(client, timeout, GET);
+  }
+
+  public HealthCheckerClient(HttpClient client, Duration timeout, ProbeMethod probeMethod) {
+    this(client, timeout, probeMethod, PhaseTimer.disabled());
+  }
+
+  public HealthCheckerClient(
+      HttpClient client, Duration timeout, ProbeMethod probeMethod, PhaseTimer phaseTimer) {
+    this(HttpClientPool.of(client), timeout, probeMethod, phaseTimer, RedirectCache.disabled());
+  }
+
+  public HealthCheckerClient(
+      HttpClientPool clients,
+      Duration timeout,
+      ProbeMethod probeMethod,
+      PhaseTimer phaseTimer,
+      RedirectCache redirects) {
+    this.clients = clients;
     this.timeout = timeout;
+    this.probeMethod = probeMethod;
+    this.phaseTimer = phaseTimer;
+    this.redirects = redirects;
   }
 
   @Override
   public HealthCheckResponse check(HttpUrl httpUrl) {
-    int httpStatus;
-    final LocalDateTime before = nowUtc();
+    return check(httpUrl, timeout);
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl) {
+    return checkAsync(httpUrl, timeout);
+  }
+
+  @Override
+  public HealthCheckResponse check(HttpUrl httpUrl, Duration timeout) {
+    final ProbeMethod method = methodFor(httpUrl);
+    final HealthCheckResponse response = check(httpUrl, method, timeout);
+    return fallsBackToGet(httpUrl, method, response) ? check(httpUrl, GET, timeout) : response;
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl, Duration timeout) {
+    final ProbeMethod method = methodFor(httpUrl);
+    return checkAsync(httpUrl, method, timeout)
+        .thenCompose(
+            response ->
+                fallsBackToGet(httpUrl, method, response)
+                    ? checkAsync(httpUrl, GET, timeout)
+                    : completedFuture(response));
+  }
+
+  private HealthCheckResponse check(HttpUrl httpUrl, ProbeMethod method, Duration timeout) {
+    final CheckTimings timings = phaseTimer.measure(httpUrl);
+    final Optional<Redirect> redirect = redirects.shortcut(httpUrl);
+    if (redirect.isEmpty()) {
+      return walk(httpUrl, method, timeout, timings);
+    }
+    final Stopwatch stopwatch = new Stopwatch();
     try {
-      return httpFetch(httpUrl, before);
-    } catch (HttpTimeoutException e) {
-      httpStatus = SERVER_TIMEOUT.value();
-    } catch (ConnectException e) {
-      httpStatus = SERVICE_UNAVAILABLE.value();
-    } catch (SSLHandshakeException e) {
-      httpStatus = SSL_CERTIFICATE_ERROR.value();
+      final HttpResponse<Void> response =
+          clients.send(request(redirect.get().getTerminal(), method, timeout), stopwatch.handler());
+      if (isSuccessful(response)) {
+        return toResponse(response, stopwatch, timings, redirects.skipped(redirect.get()));
+      }
+    } catch (HttpTimeoutException | InterruptedException e) {
+      return failed(httpUrl, e, stopwatch, timings);
     } catch (IOException e) {
-      httpStatus = SERVICE_UNAVAILABLE.value();
-    } catch (InterruptedException e) {
-      httpStatus = SERVICE_UNAVAILABLE.value();
+      // The chain may lead somewhere else now; walk it below.
+    }
+    redirects.invalidate(httpUrl);
+    return walk(httpUrl, method, timeout.minus(stopwatch.elapsed()), timings);
+  }
+
+  // A walk after a failed shortcut only gets what the shortcut left of the timeout.
+  private HealthCheckResponse walk(
+      HttpUrl httpUrl, ProbeMethod method, Duration budget, CheckTimings timings) {
+    final Stopwatch stopwatch = new Stopwatch();
+    if (isSpent(budget)) {
+      return failed(httpUrl, new HttpTimeoutException("timed out"), stopwatch, timings);
     }
+    try {
+      final HttpResponse<Void> response =
+          clients.send(request(create(httpUrl.toString()), method, budget), stopwatch.handler());
+      redirects.record(httpUrl, response);
+      return toResponse(response, stopwatch, timings, 0);
+    } catch (IOException | InterruptedException e) {
+      return failed(httpUrl, e, stopwatch, timings);
+    }
+  }
 
-    return new HealthCheckResponse(httpUrl, httpStatus, before, nowUtc());
+  private CompletableFuture<HealthCheckResponse> checkAsync(
+      HttpUrl httpUrl, ProbeMethod method, Duration timeout) {
+    return phaseTimer.measureAsync(httpUrl).thenCompose(
+        timings ->
+            redirects
+                .shortcut(httpUrl)
+                .map(redirect -> viaShortcutAsync(httpUrl, redirect, method, timeout, timings))
+                .orElseGet(() -> walkAsync(httpUrl, method, timeout, timings)));
   }
 
-  private HealthCheckResponse httpFetch(
-          HttpUrl httpUrl, LocalDateTime beforeRequest)
-      throws IOException, InterruptedException {
+  private CompletableFuture<HealthCheckResponse> viaShortcutAsync(
+      HttpUrl httpUrl,
+      Redirect redirect,
+      ProbeMethod method,
+      Duration timeout,
+      CheckTimings timings) {
+    final Stopwatch stopwatch = new Stopwatch();
+    return clients
+        .sendAsync(request(redirect.getTerminal(), method, timeout), stopwatch.handler())
+        .handle(
+            (response, e) -> {
+              if (e == null && isSuccessful(response)) {
+                return completedFuture(
+                    toResponse(response, stopwatch, timings, redirects.skipped(redirect)));
+              }
+              if (e != null && causeOf(e) instanceof HttpTimeoutException) {
+                return completedFuture(failed(httpUrl, e, stopwatch, timings));
+              }
+              redirects.invalidate(httpUrl);
+              return walkAsync(httpUrl, method, timeout.minus(stopwatch.elapsed()), timings);
+            })
+        .thenCompose(identity());
+  }
 
-    final HttpResponse<Void> send =
-        client.send(
-            newBuilder()
-                .GET()
-                .uri(create(httpUrl.toString()))
-                .setHeader(USER_AGENT, random())
-                .timeout(timeout)
-                .build(),
-            discarding());
-    return new HealthCheckResponse(new HttpUrl(send.uri().toString()), send.statusCode(), beforeRequest, nowUtc());
+  private CompletableFuture<HealthCheckResponse> walkAsync(
+      HttpUrl httpUrl, ProbeMethod method, Duration budget, CheckTimings timings) {
+    final Stopwatch stopwatch = new Stopwatch();
+    if (isSpent(budget)) {
+      return completedFuture(
+          failed(httpUrl, new HttpTimeoutException("timed out"), stopwatch, timings));
+    }
+    return clients
+        .sendAsync(request(create(httpUrl.toString()), method, budget), stopwatch.handler())
+        .handle(
+            (response, e) -> {
+              if (e != null) {
+                return failed(httpUrl, e, stopwatch, timings);
+              }
+              redirects.record(httpUrl, response);
+              return toResponse(response, stopwatch, timings, 0);
+            });
+  }
+
+  private ProbeMethod methodFor(HttpUrl httpUrl) {
+    if (probeMethod == HEAD_THEN_GET) {
+      return headUnsupported.contains(httpUrl.toString()) ? GET : HEAD;
+    }
+    return probeMethod;
+  }
+
+  // Servers that don't implement HEAD answer 405 or 501; from then on that url is probed with GET.
+  private boolean fallsBackToGet(HttpUrl httpUrl, ProbeMethod method, HealthCheckResponse response) {
+    if (probeMethod != HEAD_THEN_GET || method != HEAD) {
+      return false;
+    }
+    final int status = response.getStatus();
+    if (status == METHOD_NOT_ALLOWED.value() || status == NOT_IMPLEMENTED.value()) {
+      headUnsupported.add(httpUrl.toString());
+      return true;
+    }
+    return false;
+  }
+
+  private HttpRequest request(URI uri, ProbeMethod method, Duration timeout) {
+    return newBuilder()
+        .method(method == HEAD ? HEAD.name() : GET.name(), noBody())
+        .uri(uri)
+        .setHeader(USER_AGENT, random())
+        .timeout(timeout)
+        .build();
+  }
+
+  private HealthCheckResponse toResponse(
+      HttpResponse<Void> response, Stopwatch stopwatch, CheckTimings timings, int hopsSaved) {
+    return new HealthCheckResponse(
+        new HttpUrl(response.uri().toString()),
+        response.statusCode(),
+        stopwatch.elapsed(),
+        nowUtc(),
+        timings.withTtfb(stopwatch.ttfb()),
+        hopsSaved);
+  }
+
+  private HealthCheckResponse failed(
+      HttpUrl httpUrl, Throwable e, Stopwatch stopwatch, CheckTimings timings) {
+    return new HealthCheckResponse(
+        httpUrl, statusOf(e), stopwatch.elapsed(), nowUtc(), timings.withTtfb(stopwatch.ttfb()));
+  }
+
+  private int statusOf(Throwable e) {
+    final Throwable cause = causeOf(e);
+    if (cause instanceof HttpTimeoutException) {
+      return SERVER_TIMEOUT.value();
+    }
+    if (cause instanceof SSLHandshakeException) {
+      return SSL_CERTIFICATE_ERROR.value();
+    }
+    return SERVICE_UNAVAILABLE.value();
+  }
+
+  private static Throwable causeOf(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  private static boolean isSpent(Duration budget) {
+    return budget.isNegative() || budget.isZero();
   }
 
   private LocalDateTime nowUtc() {
     return now(systemUTC());
   }
+
+  private static class Stopwatch {
+    private final long start = nanoTime();
+    private volatile long firstByte;
+
+    private BodyHandler<Void> handler() {
+      return responseInfo -> {
+        firstByte = nanoTime();
+        return discarding().apply(responseInfo);
+      };
+    }
+
+    private Duration elapsed() {
+      return ofNanos(nanoTime() - start);
+    }
+
+    private Duration ttfb() {
+      return firstByte == 0 ? null : ofNanos(firstByte - start);
+    }
+  }
 }
@@ -1,45 +1,665 @@
 package com.alexmoleiro.healthchecker.service;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckAttempt;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.crawler.Bulkheads;
+import com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers;
+import com.alexmoleiro.healthchecker.service.crawler.ConcurrencyLimit;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlCycle;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlPriorities;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlPriority;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlerMode;
+import com.alexmoleiro.healthchecker.service.crawler.DispatchSpread;
+import com.alexmoleiro.healthchecker.service.crawler.ForkJoinCrawlerExecutor;
+import com.alexmoleiro.healthchecker.service.crawler.LatencyTier;
+import com.alexmoleiro.healthchecker.service.crawler.LatencyTracker;
+import com.alexmoleiro.healthchecker.service.crawler.Politeness;
+import com.alexmoleiro.healthchecker.service.crawler.RetryPolicy;
+import com.alexmoleiro.healthchecker.service.crawler.TimeoutBudget;
 import org.slf4j.Logger;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers.isUnreachable;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.CHANGED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.ON_DEMAND;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerMode.BLOCKING;
+import static java.time.Clock.systemUTC;
+import static java.time.LocalDateTime.now;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.concurrent.CompletableFuture.runAsync;
-import static java.util.stream.IntStream.rangeClosed;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 public class HealthCheckerCrawler {
   private static final Logger LOGGER = getLogger(HealthCheckerCrawler.class);
+  private static final int LATENCY_WINDOW = 256;
+  private static final int MIN_LATENCY_SAMPLES = 20;
+  private static final Comparator<CrawlTask> ORDER =
+      comparing((CrawlTask task) -> task.priority).thenComparingLong(task -> task.sequence);
   private final HealthChecker healthChecker;
   private final HealthCheckRepository healthCheckRepository;
-  private final int nThreads;
+  private final CrawlerMode mode;
+  private final int maxInFlight;
+  private final CrawlerExecutor executor;
+  private final Politeness politeness;
+  private final RetryPolicy retryPolicy;
+  private final TimeoutBudget timeoutBudget;
+  private final CrawlPriorities priorities;
+  private final CircuitBreakers breakers;
+  private final Bulkheads bulkheads;
+  private final DispatchSpread spread;
+  private final ConcurrencyLimit limit;
+  private final LatencyTracker latencies = new LatencyTracker(LATENCY_WINDOW, MIN_LATENCY_SAMPLES);
+  private final AtomicLong retries = new AtomicLong();
+  private final AtomicLong hedges = new AtomicLong();
+  private final AtomicLong hedgeWins = new AtomicLong();
+  private final AtomicLong rechecks = new AtomicLong();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicInteger backingOff = new AtomicInteger();
+  private final Map<LatencyTier, NavigableSet<CrawlTask>> queues = queues();
+  private final Set<Endpoint> pending = ConcurrentHashMap.newKeySet();
+  private int inFlight;
+  private boolean wakeUpScheduled;
 
   public HealthCheckerCrawler(
       HealthChecker healthChecker,
       HealthCheckRepository healthCheckRepository,
       int nThreads) {
-    this.healthChecker = healthChecker;
-    this.healthCheckRepository = healthCheckRepository;
-    this.nThreads = nThreads;
+    this(builder(healthChecker, healthCheckRepository).maxInFlight(nThreads));
   }
 
-  public void run(Set<Endpoint> endpoints) {
-    ConcurrentLinkedDeque<Endpoint> endpointsQueue = new ConcurrentLinkedDeque<>(endpoints);
-    rangeClosed(1, nThreads).forEach(thread -> runAsync(() -> getHealthStatus(endpointsQueue)));
+  private HealthCheckerCrawler(Builder builder) {
+    this.healthChecker = builder.healthChecker;
+    this.healthCheckRepository = builder.healthCheckRepository;
+    this.mode = builder.mode;
+    this.maxInFlight = builder.maxInFlight;
+    this.executor = builder.executor;
+    this.politeness = builder.politeness;
+    this.retryPolicy = builder.retryPolicy;
+    this.timeoutBudget = builder.timeoutBudget;
+    this.priorities = builder.priorities;
+    this.breakers = builder.breakers;
+    this.bulkheads = builder.bulkheads;
+    this.spread = builder.spread;
+    this.limit =
+        builder.limit != null ? builder.limit : ConcurrencyLimit.fixed(builder.maxInFlight);
   }
 
-  private void getHealthStatus(ConcurrentLinkedDeque<Endpoint> endpoints) {
+  public static Builder builder(
+      HealthChecker healthChecker, HealthCheckRepository healthCheckRepository) {
+    return new Builder(healthChecker, healthCheckRepository);
+  }
+
+  public CompletableFuture<CrawlCycle> run(Set<Endpoint> endpoints) {
+    limit.onCycle(endpoints.size());
+    return crawl(endpoints);
+  }
+
+  // Endpoints that come due on their own schedule: the limit follows the rate they arrive at, not
+  // the size of each batch.
+  public CompletableFuture<CrawlCycle> run(Set<Endpoint> endpoints, double arrivalsPerSecond) {
+    limit.onArrivals(arrivalsPerSecond);
+    return crawl(endpoints);
+  }
+
+  private CompletableFuture<CrawlCycle> crawl(Set<Endpoint> endpoints) {
+    final CrawlCycle cycle = new CrawlCycle(endpoints.size());
+    endpoints.forEach(
+        endpoint -> {
+          if (!pending.add(endpoint)) {
+            cycle.skipped();
+            return;
+          }
+          final Duration offset = spread.offsetOf(endpoint);
+          if (offset.isZero()) {
+            enqueue(task(endpoint, cycle, null, priorities.of(endpoint)));
+          } else {
+            waiting.incrementAndGet();
+            runAsync(
+                () -> {
+                  waiting.decrementAndGet();
+                  enqueue(task(endpoint, cycle, null, priorities.of(endpoint)));
+                  dispatch();
+                },
+                delayedExecutor(offset.toMillis(), MILLISECONDS, executor));
+          }
+        });
+    dispatch();
+    return cycle.completion();
+  }
+
+  // On-demand checks share the queue, limits and retries of the crawl but are not recorded.
+  // Cancelling the result drops a check that has not started yet and any retry still to come.
+  public CompletableFuture<HealthCheckResponse> submit(Endpoint endpoint) {
+    final CompletableFuture<HealthCheckResponse> result = new CompletableFuture<>();
+    final CrawlTask task = task(endpoint, null, result, ON_DEMAND);
+    enqueue(task);
+    result.whenComplete(
+        (response, e) -> {
+          if (result.isCancelled()) {
+            queues.get(task.tier).remove(task);
+          }
+        });
+    dispatch();
+    return result;
+  }
+
+  private void recheck(Endpoint endpoint) {
+    if (pending.add(endpoint)) {
+      rechecks.incrementAndGet();
+      enqueue(task(endpoint, null, null, CHANGED));
+      dispatch();
+    }
+  }
+
+  private CrawlTask task(
+      Endpoint endpoint,
+      CrawlCycle cycle,
+      CompletableFuture<HealthCheckResponse> result,
+      CrawlPriority priority) {
+    return new CrawlTask(
+        endpoint,
+        cycle,
+        result,
+        priority,
+        bulkheads.tierOf(endpoint),
+        sequence.incrementAndGet(),
+        1,
+        new CopyOnWriteArrayList<>());
+  }
+
+  private void enqueue(CrawlTask task) {
+    queues.get(task.tier).add(task);
+  }
+
+  // Each tier has its own queue and the next task is the most urgent head among them. A tier with
+  // no free slot is dropped from the round whole, so a full bulkhead costs one look, not a scan.
+  private synchronized void dispatch() {
+    boolean deferred = false;
+    final Map<LatencyTier, Iterator<CrawlTask>> iterators = new EnumMap<>(LatencyTier.class);
+    final Map<LatencyTier, CrawlTask> heads = new EnumMap<>(LatencyTier.class);
+    queues.forEach(
+        (tier, tasks) -> {
+          iterators.put(tier, tasks.iterator());
+          advance(tier, iterators, heads);
+        });
+    final int allowed = allowed();
+    bulkheads.resize(allowed);
+    while (inFlight < allowed && !heads.isEmpty()) {
+      final CrawlTask task = heads.values().stream().min(ORDER).orElseThrow();
+      if (task.isCancelled()) {
+        iterators.get(task.tier).remove();
+        advance(task.tier, iterators, heads);
+        abandon(task);
+        continue;
+      }
+      if (!bulkheads.tryAcquire(task.tier)) {
+        heads.remove(task.tier);
+        continue;
+      }
+      if (!politeness.tryAcquire(task.endpoint)) {
+        bulkheads.release(task.tier);
+        deferred = true;
+        advance(task.tier, iterators, heads);
+        continue;
+      }
+      iterators.get(task.tier).remove();
+      advance(task.tier, iterators, heads);
+      inFlight++;
+      final boolean shortCircuited = task.attempt == 1 && !breakers.allow(task.endpoint);
+      (shortCircuited ? shortCircuit(task.endpoint) : hedged(task))
+          .whenCompleteAsync(
+              (response, e) -> complete(task, response, e, shortCircuited), executor);
+    }
+    if (deferred && politeness.isRateLimited()) {
+      wakeUpLater();
+    }
+  }
+
+  private static void advance(
+      LatencyTier tier,
+      Map<LatencyTier, Iterator<CrawlTask>> iterators,
+      Map<LatencyTier, CrawlTask> heads) {
+    final Iterator<CrawlTask> tasks = iterators.get(tier);
+    if (tasks.hasNext()) {
+      heads.put(tier, tasks.next());
+    } else {
+      heads.remove(tier);
+    }
+  }
+
+  private static Map<LatencyTier, NavigableSet<CrawlTask>> queues() {
+    final Map<LatencyTier, NavigableSet<CrawlTask>> queues = new EnumMap<>(LatencyTier.class);
+    for (LatencyTier tier : LatencyTier.values()) {
+      queues.put(tier, new ConcurrentSkipListSet<>(ORDER));
+    }
+    return queues;
+  }
+
+  // A host held back only by its rate limit has nothing in flight to trigger the next dispatch.
+  private void wakeUpLater() {
+    if (!wakeUpScheduled) {
+      wakeUpScheduled = true;
+      runAsync(
+          this::wakeUp,
+          delayedExecutor(politeness.getRetryDelay().toMillis(), MILLISECONDS, executor));
+    }
+  }
+
+  private void wakeUp() {
+    synchronized (this) {
+      wakeUpScheduled = false;
+    }
+    dispatch();
+  }
+
+  // A host whose breaker is open gets a synthetic 503 without a request, retry or hedge.
+  private CompletableFuture<HealthCheckResponse> shortCircuit(Endpoint endpoint) {
+    final LocalDateTime now = now(systemUTC());
+    return completedFuture(
+        new HealthCheckResponse(endpoint.getHttpUrl(), SERVICE_UNAVAILABLE.value(), now, now));
+  }
+
+  // A hedge is a second request fired once the first has taken longer than the p95 latency; the
+  // first answer wins. Cancelling the loser would not stop its request, so it runs to its end and
+  // keeps its permits until then. A retry of a timeout gets the ceiling.
+  private CompletableFuture<HealthCheckResponse> hedged(CrawlTask task) {
+    final Optional<Duration> timeout =
+        task.timedOut()
+            ? timeoutBudget.afterTimeout()
+            : timeoutBudget.forEndpoint(task.endpoint);
+    final CompletableFuture<HealthCheckResponse> first = single(task.endpoint, timeout);
+    first.whenComplete((response, e) -> release(task));
+    final CompletableFuture<HealthCheckResponse> answer = timed(first, task, false, timeout);
+    final Optional<Duration> p95 = retryPolicy.isHedging() ? latencies.p95() : Optional.empty();
+    if (p95.isEmpty()) {
+      return answer;
+    }
+    final CompletableFuture<HealthCheckResponse> winner = new CompletableFuture<>();
+    answer.whenComplete((response, e) -> settle(winner, response, e));
+    runAsync(
+        () -> hedge(task, timeout, winner),
+        delayedExecutor(p95.get().toMillis(), MILLISECONDS, executor));
+    return winner;
+  }
+
+  // The hedge needs a politeness permit and an in-flight slot of its own, so it is skipped when the
+  // host or the crawler has none free.
+  private void hedge(
+      CrawlTask task, Optional<Duration> timeout, CompletableFuture<HealthCheckResponse> winner) {
+    if (winner.isDone() || !politeness.tryAcquire(task.endpoint)) {
+      return;
+    }
+    if (!tryAcquireSlot()) {
+      politeness.release(task.endpoint);
+      return;
+    }
+    hedges.incrementAndGet();
+    final CompletableFuture<HealthCheckResponse> second = single(task.endpoint, timeout);
+    second.whenComplete(
+        (response, e) -> {
+          politeness.release(task.endpoint);
+          release();
+          executor.execute(this::dispatch);
+        });
+    timed(second, task, true, timeout)
+        .whenComplete(
+            (response, e) -> {
+              if (settle(winner, response, e)) {
+                hedgeWins.incrementAndGet();
+              }
+            });
+  }
+
+  private boolean settle(
+      CompletableFuture<HealthCheckResponse> winner, HealthCheckResponse response, Throwable e) {
+    return e == null ? winner.complete(response) : winner.completeExceptionally(e);
+  }
+
+  private CompletableFuture<HealthCheckResponse> timed(
+      CompletableFuture<HealthCheckResponse> check,
+      CrawlTask task,
+      boolean hedge,
+      Optional<Duration> timeout) {
+    return check.thenApply(
+        response -> {
+          task.attempts.add(
+              new CheckAttempt(task.attempt, response.getStatus(), response.getDelay(), hedge));
+          limit.onResult(response.getDelay(), isUnreachable(response.getStatus()));
+          if (!retryPolicy.isRetryable(response.getStatus())) {
+            latencies.record(response.getDelay());
+          }
+          return timeout.map(response::withTimeout).orElse(response);
+        });
+  }
+
+  private CompletableFuture<HealthCheckResponse> single(
+      Endpoint endpoint, Optional<Duration> timeout) {
+    final HttpUrl url = endpoint.getHttpUrl();
+    if (mode == BLOCKING) {
+      return supplyAsync(
+          () ->
+              timeout.isPresent()
+                  ? healthChecker.check(url, timeout.get())
+                  : healthChecker.check(url),
+          executor);
+    }
+    try {
+      return timeout.isPresent()
+          ? healthChecker.checkAsync(url, timeout.get())
+          : healthChecker.checkAsync(url);
+    } catch (RuntimeException e) {
+      return failedFuture(e);
+    }
+  }
+
+  // A retry waits out its backoff holding no slot of its own; it comes back through the queue once
+  // the timer fires.
+  private void complete(
+      CrawlTask task, HealthCheckResponse response, Throwable e, boolean shortCircuited) {
+    if (shortCircuited) {
+      release(task);
+    }
+    final boolean retry =
+        e == null && !shortCircuited && retryPolicy.shouldRetry(response.getStatus(), task.attempt);
+    if (retry) {
+      retries.incrementAndGet();
+      backingOff.incrementAndGet();
+      runAsync(
+          () -> {
+            backingOff.decrementAndGet();
+            if (task.isCancelled()) {
+              breakers.abandon(task.endpoint);
+              return;
+            }
+            enqueue(task.retry(sequence.incrementAndGet()));
+            dispatch();
+          },
+          delayedExecutor(retryPolicy.backoff(task.attempt).toMillis(), MILLISECONDS, executor));
+      dispatch();
+      return;
+    }
+    if (!shortCircuited) {
+      breakers.record(
+          task.endpoint, e == null ? response.getStatus() : SERVICE_UNAVAILABLE.value());
+    }
+    final HealthCheckResponse result =
+        e == null && !shortCircuited ? response.withAttempts(task.attempts) : response;
+    if (task.result != null) {
+      settle(task.result, result, e);
+      dispatch();
+      return;
+    }
+    boolean recorded = false;
+    try {
+      if (e == null) {
+        priorities
+            .recheck(task.endpoint, result)
+            .ifPresent(
+                delay ->
+                    runAsync(
+                        () -> recheck(task.endpoint),
+                        delayedExecutor(delay.toMillis(), MILLISECONDS, executor)));
+        healthCheckRepository.add(task.endpoint, result);
+        if (task.cycle != null) {
+          task.cycle.savedHops(result.getHopsSaved());
+        }
+        LOGGER.info(result.toString());
+        recorded = true;
+      } else {
+        LOGGER.warn("Check of {} failed", task.endpoint.getUrl(), e);
+      }
+    } finally {
+      pending.remove(task.endpoint);
+      if (task.cycle != null && recorded) {
+        task.cycle.checked();
+      } else if (task.cycle != null) {
+        task.cycle.skipped();
+      }
+      dispatch();
+    }
+  }
+
+  // A retry that is dropped never reports, so a breaker it was probing must not wait for it.
+  private void abandon(CrawlTask task) {
+    if (task.attempt > 1) {
+      breakers.abandon(task.endpoint);
+    }
+  }
+
+  // Runs when the request itself is over, which for the loser of a hedge is after the answer.
+  private void release(CrawlTask task) {
+    politeness.release(task.endpoint);
+    bulkheads.release(task.tier);
+    release();
+    executor.execute(this::dispatch);
+  }
+
+  private synchronized void release() {
+    inFlight--;
+  }
+
+  private synchronized boolean tryAcquireSlot() {
+    if (inFlight >= allowed()) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  private int allowed() {
+    return Math.min(maxInFlight, limit.getLimit());
+  }
+
+  public CrawlerExecutor getExecutor() {
+    return executor;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public int getQueued() {
+    return queues.values().stream().mapToInt(Set::size).sum();
+  }
+
+  public int getWaiting() {
+    return waiting.get();
+  }
+
+  public int getBackingOff() {
+    return backingOff.get();
+  }
+
+  public Duration getSpreadWindow() {
+    return spread.getWindow();
+  }
+
+  public long getPolitenessDeferrals() {
+    return politeness.getDeferred();
+  }
+
+  public long getRetries() {
+    return retries.get();
+  }
+
+  public long getHedges() {
+    return hedges.get();
+  }
+
+  public long getHedgeWins() {
+    return hedgeWins.get();
+  }
+
+  public long getRechecks() {
+    return rechecks.get();
+  }
+
+  public CircuitBreakers getBreakers() {
+    return breakers;
+  }
+
+  public Bulkheads getBulkheads() {
+    return bulkheads;
+  }
+
+  public ConcurrencyLimit getLimit() {
+    return limit;
+  }
+
+  // Every setting but the checker and the repository is optional and defaults to the behaviour the
+  // crawler had before it existed: blocking, unlimited, no retries, FIFO and a single bulkhead.
+  public static class Builder {
+    private final HealthChecker healthChecker;
+    private final HealthCheckRepository healthCheckRepository;
+    private CrawlerMode mode = BLOCKING;
+    private int maxInFlight = 1;
+    private CrawlerExecutor executor = new ForkJoinCrawlerExecutor(commonPool());
+    private Politeness politeness = Politeness.unlimited();
+    private RetryPolicy retryPolicy = RetryPolicy.none();
+    private TimeoutBudget timeoutBudget = TimeoutBudget.none();
+    private CrawlPriorities priorities = CrawlPriorities.fifo();
+    private CircuitBreakers breakers = CircuitBreakers.disabled();
+    private Bulkheads bulkheads = Bulkheads.single();
+    private DispatchSpread spread = DispatchSpread.none();
+    private ConcurrencyLimit limit;
+
+    private Builder(HealthChecker healthChecker, HealthCheckRepository healthCheckRepository) {
+      this.healthChecker = healthChecker;
+      this.healthCheckRepository = healthCheckRepository;
+    }
+
+    public Builder mode(CrawlerMode mode) {
+      this.mode = mode;
+      return this;
+    }
+
+    public Builder maxInFlight(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    public Builder executor(CrawlerExecutor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    public Builder politeness(Politeness politeness) {
+      this.politeness = politeness;
+      return this;
+    }
+
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    public Builder timeoutBudget(TimeoutBudget timeoutBudget) {
+      this.timeoutBudget = timeoutBudget;
+      return this;
+    }
+
+    public Builder priorities(CrawlPriorities priorities) {
+      this.priorities = priorities;
+      return this;
+    }
+
+    public Builder breakers(CircuitBreakers breakers) {
+      this.breakers = breakers;
+      return this;
+    }
+
+    public Builder bulkheads(Bulkheads bulkheads) {
+      this.bulkheads = bulkheads;
+      return this;
+    }
+
+    public Builder spread(DispatchSpread spread) {
+      this.spread = spread;
+      return this;
+    }
+
+    // Without one the limit is fixed at maxInFlight.
+    public Builder limit(ConcurrencyLimit limit) {
+      this.limit = limit;
+      return this;
+    }
+
+    public HealthCheckerCrawler build() {
+      return new HealthCheckerCrawler(this);
+    }
+  }
+
+  private static class CrawlTask {
+    private final Endpoint endpoint;
+    private final CrawlCycle cycle;
+    private final CompletableFuture<HealthCheckResponse> result;
+    private final CrawlPriority priority;
+    private final LatencyTier tier;
+    private final long sequence;
+    private final int attempt;
+    private final List<CheckAttempt> attempts;
+
+    private CrawlTask(
+        Endpoint endpoint,
+        CrawlCycle cycle,
+        CompletableFuture<HealthCheckResponse> result,
+        CrawlPriority priority,
+        LatencyTier tier,
+        long sequence,
+        int attempt,
+        List<CheckAttempt> attempts) {
+      this.endpoint = endpoint;
+      this.cycle = cycle;
+      this.result = result;
+      this.priority = priority;
+      this.tier = tier;
+      this.sequence = sequence;
+      this.attempt = attempt;
+      this.attempts = attempts;
+    }
+
+    private CrawlTask retry(long sequence) {
+      return new CrawlTask(
+          endpoint, cycle, result, priority, tier, sequence, attempt + 1, attempts);
+    }
+
+    private boolean timedOut() {
+      return !attempts.isEmpty()
+          && attempts.get(attempts.size() - 1).getStatus() == GATEWAY_TIMEOUT.value();
+    }
 
-    while (endpoints.peek() != null) {
-      final Endpoint polledEndpoint = endpoints.poll();
-      final HealthCheckResponse response = healthChecker.check(polledEndpoint.getHttpUrl());
-      healthCheckRepository.add(polledEndpoint, response);
-      LOGGER.info(response.toString());
+    private boolean isCancelled() {
+      return result != null && result.isCancelled();
     }
   }
 }
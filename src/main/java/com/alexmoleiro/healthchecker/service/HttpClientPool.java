@@ -0,0 +1,108 @@
+package com.alexmoleiro.healthchecker.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.floorMod;
+import static java.net.http.HttpClient.Redirect.ALWAYS;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.net.http.HttpClient.newBuilder;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+/**
+ * HttpClients sharded by host, so all checks of a host share one client and its connections
+ * (multiplexed when the origin speaks HTTP/2), while each shard has its own selector and executor
+ * and a busy shard doesn't hold up the others.
+ */
+public class HttpClientPool {
+
+  private static final int DEFAULT_KEEP_ALIVE_SECONDS = 1200;
+  private final List<HttpClientShard> shards;
+
+  public HttpClientPool(List<HttpClientShard> shards) {
+    this.shards = shards;
+  }
+
+  public static HttpClientPool of(HttpClient client) {
+    return new HttpClientPool(List.of(new HttpClientShard(0, client, keepAlive())));
+  }
+
+  public static HttpClientPool sharded(int shards) {
+    return new HttpClientPool(
+        range(0, shards)
+            .mapToObj(
+                index ->
+                    new HttpClientShard(
+                        index,
+                        newBuilder()
+                            .version(HTTP_2)
+                            .followRedirects(ALWAYS)
+                            .executor(newCachedThreadPool(threadFactory(index)))
+                            .build(),
+                        keepAlive()))
+            .collect(toList()));
+  }
+
+  public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> handler)
+      throws IOException, InterruptedException {
+    final HttpClientShard shard = shardOf(request.uri());
+    shard.started(request.uri());
+    HttpResponse<T> response = null;
+    try {
+      response = shard.client().send(request, handler);
+      return response;
+    } finally {
+      shard.finished(request.uri(), response);
+    }
+  }
+
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      HttpRequest request, BodyHandler<T> handler) {
+    final HttpClientShard shard = shardOf(request.uri());
+    shard.started(request.uri());
+    try {
+      return shard
+          .client()
+          .sendAsync(request, handler)
+          .whenComplete((response, e) -> shard.finished(request.uri(), response));
+    } catch (RuntimeException e) {
+      shard.finished(request.uri(), null);
+      throw e;
+    }
+  }
+
+  public List<HttpClientShard> getShards() {
+    return shards;
+  }
+
+  private HttpClientShard shardOf(URI uri) {
+    return shards.get(floorMod(String.valueOf(uri.getHost()).hashCode(), shards.size()));
+  }
+
+  private static Duration keepAlive() {
+    return ofSeconds(getInteger("jdk.httpclient.keepalive.timeout", DEFAULT_KEEP_ALIVE_SECONDS));
+  }
+
+  private static ThreadFactory threadFactory(int shard) {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread =
+          new Thread(runnable, "http-shard-" + shard + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,104 @@
+package com.alexmoleiro.healthchecker.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.time.Duration.ofSeconds;
+
+public class HttpClientShard {
+
+  // Origins commonly drop idle connections after 5 to 75 seconds, so the estimate assumes the
+  // shortest of those rather than the client's own keep-alive.
+  private static final Duration ORIGIN_IDLE_TIMEOUT = ofSeconds(5);
+  private final int index;
+  private final HttpClient client;
+  private final long idleTimeoutNanos;
+  private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong http2Responses = new AtomicLong();
+  private final AtomicLong estimatedConnections = new AtomicLong();
+
+  public HttpClientShard(int index, HttpClient client, Duration keepAlive) {
+    this.index = index;
+    this.client = client;
+    this.idleTimeoutNanos = min(keepAlive.toNanos(), ORIGIN_IDLE_TIMEOUT.toNanos());
+  }
+
+  HttpClient client() {
+    return client;
+  }
+
+  // HttpClient doesn't expose its connection pool, so connections are only estimated: a request is
+  // counted as opening one when its origin has been idle longer than the assumed idle timeout, or
+  // is busy on an HTTP/1.1 connection.
+  synchronized void started(URI uri) {
+    requests.incrementAndGet();
+    final Origin origin = origins.computeIfAbsent(originOf(uri), key -> new Origin());
+    final long now = nanoTime();
+    if (origin.lastUsed == 0
+        || now - origin.lastUsed > idleTimeoutNanos
+        || (origin.inFlight > 0 && !origin.http2)) {
+      estimatedConnections.incrementAndGet();
+    }
+    origin.inFlight++;
+    origin.lastUsed = now;
+  }
+
+  synchronized void finished(URI uri, HttpResponse<?> response) {
+    final Origin origin = origins.get(originOf(uri));
+    if (origin == null) {
+      return;
+    }
+    origin.inFlight--;
+    origin.lastUsed = nanoTime();
+    if (response != null) {
+      origin.http2 = response.version() == HTTP_2;
+      if (origin.http2) {
+        http2Responses.incrementAndGet();
+      }
+    }
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public int getOrigins() {
+    return origins.size();
+  }
+
+  public long getHttp2Responses() {
+    return http2Responses.get();
+  }
+
+  public long getEstimatedConnections() {
+    return estimatedConnections.get();
+  }
+
+  public double getEstimatedReuseRate() {
+    final long total = requests.get();
+    return total == 0 ? 0 : (double) (total - estimatedConnections.get()) / total;
+  }
+
+  private String originOf(URI uri) {
+    return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+  }
+
+  private static class Origin {
+    private int inFlight;
+    private long lastUsed;
+    private boolean http2;
+  }
+}
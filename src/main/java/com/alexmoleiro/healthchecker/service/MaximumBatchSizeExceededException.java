@@ -0,0 +1,4 @@
+package com.alexmoleiro.healthchecker.service;
+
+public class MaximumBatchSizeExceededException extends RuntimeException {
+}
@@ -0,0 +1,96 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.lang.System.nanoTime;
+import static java.time.Duration.ofNanos;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+public class PhaseTimer {
+
+  // The measuring connection and the check's own.
+  public static final int CONNECTIONS_PER_CHECK = 2;
+  private static final String HTTPS = "https";
+  private final boolean enabled;
+  private final Duration timeout;
+  private final Executor executor;
+
+  // The measuring connection blocks, so async checks run it on executor rather than on the
+  // common pool.
+  public PhaseTimer(boolean enabled, Duration timeout, Executor executor) {
+    this.enabled = enabled;
+    this.timeout = timeout;
+    this.executor = executor;
+  }
+
+  public static PhaseTimer disabled() {
+    return new PhaseTimer(false, Duration.ZERO, Runnable::run);
+  }
+
+  // HttpClient hides its connection setup, so DNS, TCP connect and TLS handshake are timed on a
+  // separate short-lived connection to the same origin, which politeness counts against the host.
+  // Phases that fail are left out.
+  public CheckTimings measure(HttpUrl httpUrl) {
+    if (!enabled) {
+      return CheckTimings.none();
+    }
+    final URL url = httpUrl.getUrl();
+    Duration dns = null;
+    Duration connect = null;
+    Duration tls = null;
+    try {
+      long start = nanoTime();
+      final InetAddress address = InetAddress.getByName(url.getHost());
+      dns = ofNanos(nanoTime() - start);
+
+      try (Socket socket = new Socket()) {
+        start = nanoTime();
+        socket.connect(new InetSocketAddress(address, portOf(url)), (int) timeout.toMillis());
+        connect = ofNanos(nanoTime() - start);
+
+        if (HTTPS.equals(url.getProtocol())) {
+          start = nanoTime();
+          try (SSLSocket sslSocket =
+              (SSLSocket)
+                  ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                      .createSocket(socket, url.getHost(), portOf(url), true)) {
+            sslSocket.setSoTimeout((int) timeout.toMillis());
+            sslSocket.startHandshake();
+            tls = ofNanos(nanoTime() - start);
+          }
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // the check itself reports why the origin is unreachable
+    }
+    return new CheckTimings(dns, connect, tls, null);
+  }
+
+  public CompletableFuture<CheckTimings> measureAsync(HttpUrl httpUrl) {
+    if (!enabled) {
+      return completedFuture(CheckTimings.none());
+    }
+    return supplyAsync(() -> measure(httpUrl), executor);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  private int portOf(URL url) {
+    return url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+  }
+}
@@ -0,0 +1,7 @@
+package com.alexmoleiro.healthchecker.service;
+
+public enum ProbeMethod {
+  GET,
+  HEAD,
+  HEAD_THEN_GET
+}
@@ -1,5 +1,6 @@
 package com.alexmoleiro.healthchecker.service;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
@@ -37,7 +38,11 @@ public class ProfileService {
 
   public void addEndpointToEndpointsAndUserProfile(User user, Endpoint endpoint) {
     isUserExceedingNumberOfEndpoints(user);
-    healthCheckRepository.add(endpoint, healthChecker.check(endpoint.getHttpUrl()));
+    // A recent check of an endpoint someone else already follows comes back from the repository.
+    final CheckedResponse checked = healthChecker.checkWithSource(endpoint.getHttpUrl());
+    if (!checked.isRecorded()) {
+      healthCheckRepository.add(endpoint, checked.getResponse());
+    }
     endpointRepository.add(endpoint);
     profileRepository.addEndpoint(user, endpoint);
   }
@@ -0,0 +1,110 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+public class RedirectCache {
+
+  private static final int DISABLED = 0;
+  private final int revalidateEvery;
+  private final Map<String, Redirect> redirects = new ConcurrentHashMap<>();
+  private final AtomicLong hopsSaved = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+
+  public RedirectCache(int revalidateEvery) {
+    this.revalidateEvery = revalidateEvery;
+  }
+
+  public static RedirectCache disabled() {
+    return new RedirectCache(DISABLED);
+  }
+
+  // Every revalidateEvery uses the chain is walked again from the original url.
+  public Optional<Redirect> shortcut(HttpUrl httpUrl) {
+    final Redirect redirect = redirects.get(httpUrl.toString());
+    if (redirect == null) {
+      return empty();
+    }
+    if (redirect.uses.incrementAndGet() > revalidateEvery) {
+      revalidations.incrementAndGet();
+      redirects.remove(httpUrl.toString(), redirect);
+      return empty();
+    }
+    return of(redirect);
+  }
+
+  public void record(HttpUrl httpUrl, HttpResponse<?> response) {
+    final int hops = hopsOf(response);
+    if (revalidateEvery == DISABLED || hops == 0 || !isSuccessful(response)) {
+      redirects.remove(httpUrl.toString());
+      return;
+    }
+    redirects.put(httpUrl.toString(), new Redirect(response.uri(), hops));
+  }
+
+  public void invalidate(HttpUrl httpUrl) {
+    if (redirects.remove(httpUrl.toString()) != null) {
+      revalidations.incrementAndGet();
+    }
+  }
+
+  public int skipped(Redirect redirect) {
+    hopsSaved.addAndGet(redirect.hops);
+    return redirect.hops;
+  }
+
+  public int getSize() {
+    return redirects.size();
+  }
+
+  public long getHopsSaved() {
+    return hopsSaved.get();
+  }
+
+  public long getRevalidations() {
+    return revalidations.get();
+  }
+
+  static boolean isSuccessful(HttpResponse<?> response) {
+    return response.statusCode() >= 200 && response.statusCode() < 300;
+  }
+
+  private int hopsOf(HttpResponse<?> response) {
+    int hops = 0;
+    Optional<? extends HttpResponse<?>> previous = response.previousResponse();
+    while (previous.isPresent()) {
+      hops++;
+      previous = previous.get().previousResponse();
+    }
+    return hops;
+  }
+
+  public static class Redirect {
+    private final URI terminal;
+    private final int hops;
+    private final AtomicInteger uses = new AtomicInteger();
+
+    private Redirect(URI terminal, int hops) {
+      this.terminal = terminal;
+      this.hops = hops;
+    }
+
+    public URI getTerminal() {
+      return terminal;
+    }
+
+    public int getHops() {
+      return hops;
+    }
+  }
+}
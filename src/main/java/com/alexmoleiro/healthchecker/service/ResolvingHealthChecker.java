@@ -0,0 +1,76 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.dns.NameResolver;
+
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.time.Clock.systemUTC;
+import static java.time.LocalDateTime.now;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+public class ResolvingHealthChecker implements HealthChecker {
+
+  private final HealthChecker healthChecker;
+  private final NameResolver nameResolver;
+
+  public ResolvingHealthChecker(HealthChecker healthChecker, NameResolver nameResolver) {
+    this.healthChecker = healthChecker;
+    this.nameResolver = nameResolver;
+  }
+
+  @Override
+  public HealthCheckResponse check(HttpUrl httpUrl) {
+    return resolved(httpUrl, () -> healthChecker.check(httpUrl));
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl) {
+    return resolvedAsync(httpUrl, () -> healthChecker.checkAsync(httpUrl));
+  }
+
+  @Override
+  public HealthCheckResponse check(HttpUrl httpUrl, Duration timeout) {
+    return resolved(httpUrl, () -> healthChecker.check(httpUrl, timeout));
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckResponse> checkAsync(HttpUrl httpUrl, Duration timeout) {
+    return resolvedAsync(httpUrl, () -> healthChecker.checkAsync(httpUrl, timeout));
+  }
+
+  private HealthCheckResponse resolved(HttpUrl httpUrl, Supplier<HealthCheckResponse> check) {
+    try {
+      nameResolver.resolve(httpUrl.getUrl().getHost());
+    } catch (UnknownHostException e) {
+      return unresolved(httpUrl);
+    }
+    return check.get();
+  }
+
+  private CompletableFuture<HealthCheckResponse> resolvedAsync(
+      HttpUrl httpUrl, Supplier<CompletableFuture<HealthCheckResponse>> check) {
+    return nameResolver
+        .resolveAsync(httpUrl.getUrl().getHost())
+        .handle((addresses, e) -> isUnknownHost(e))
+        .thenCompose(unknownHost -> unknownHost ? completedFuture(unresolved(httpUrl)) : check.get());
+  }
+
+  private boolean isUnknownHost(Throwable e) {
+    final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    return cause instanceof UnknownHostException;
+  }
+
+  private HealthCheckResponse unresolved(HttpUrl httpUrl) {
+    final LocalDateTime now = now(systemUTC());
+    return new HealthCheckResponse(httpUrl, SERVICE_UNAVAILABLE.value(), now, now);
+  }
+}
@@ -0,0 +1,132 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.service.crawler.CheckIntervals;
+import com.alexmoleiro.healthchecker.service.crawler.TimingWheel;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.lang.Math.floorMod;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class TimingWheelScheduler implements CrawlTrigger {
+  private static final Logger LOGGER = getLogger(TimingWheelScheduler.class);
+  private final HealthCheckerCrawler healthCheckerCrawler;
+  private final CheckIntervals checkIntervals;
+  private final Duration tick;
+  private final TimingWheel<Ticket> wheel;
+  private final Map<Endpoint, Ticket> scheduled = new ConcurrentHashMap<>();
+  private final AtomicLong dispatched = new AtomicLong();
+  private final ScheduledExecutorService ticker;
+  private volatile double arrivalsPerSecond;
+  private boolean started;
+
+  public TimingWheelScheduler(
+      HealthCheckerCrawler healthCheckerCrawler,
+      CheckIntervals checkIntervals,
+      Duration tick,
+      int wheelSize) {
+    this(healthCheckerCrawler, checkIntervals, tick, wheelSize, newSingleThreadScheduledExecutor());
+  }
+
+  public TimingWheelScheduler(
+      HealthCheckerCrawler healthCheckerCrawler,
+      CheckIntervals checkIntervals,
+      Duration tick,
+      int wheelSize,
+      ScheduledExecutorService ticker) {
+    this.healthCheckerCrawler = healthCheckerCrawler;
+    this.checkIntervals = checkIntervals;
+    this.tick = tick;
+    this.wheel = new TimingWheel<>(tick, wheelSize);
+    this.ticker = ticker;
+  }
+
+  @Override
+  public void tick(Supplier<Set<Endpoint>> endpoints) {
+    final Set<Endpoint> current = endpoints.get();
+    scheduled.keySet().retainAll(current);
+    arrivalsPerSecond =
+        current.stream().mapToDouble(e -> 1000.0 / checkIntervals.of(e).toMillis()).sum();
+    current.forEach(
+        endpoint ->
+            scheduled.computeIfAbsent(
+                endpoint,
+                e -> {
+                  final Ticket ticket = new Ticket(e);
+                  wheel.schedule(ticket, firstDelay(e));
+                  return ticket;
+                }));
+    start();
+  }
+
+  public void advance() {
+    final List<Ticket> expired = wheel.advance();
+    final Set<Endpoint> due = new HashSet<>();
+    expired.stream()
+        .filter(ticket -> scheduled.get(ticket.endpoint) == ticket)
+        .forEach(
+            ticket -> {
+              wheel.schedule(ticket, checkIntervals.of(ticket.endpoint));
+              due.add(ticket.endpoint);
+            });
+    if (!due.isEmpty()) {
+      dispatched.addAndGet(due.size());
+      healthCheckerCrawler.run(due, arrivalsPerSecond);
+    }
+  }
+
+  public int getScheduled() {
+    return scheduled.size();
+  }
+
+  public long getDispatched() {
+    return dispatched.get();
+  }
+
+  public void shutdown() {
+    ticker.shutdown();
+  }
+
+  // Endpoints sharing an interval start at a stable offset inside it, so they come due spread over
+  // the interval instead of all on the same tick.
+  private Duration firstDelay(Endpoint endpoint) {
+    return ofMillis(floorMod(endpoint.getUrl().hashCode(), checkIntervals.of(endpoint).toMillis()));
+  }
+
+  private synchronized void start() {
+    if (!started) {
+      started = true;
+      ticker.scheduleAtFixedRate(
+          this::safeAdvance, tick.toMillis(), tick.toMillis(), MILLISECONDS);
+    }
+  }
+
+  private void safeAdvance() {
+    try {
+      advance();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Timing wheel tick failed", e);
+    }
+  }
+
+  private static class Ticket {
+    private final Endpoint endpoint;
+
+    private Ticket(Endpoint endpoint) {
+      this.endpoint = endpoint;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.alexmoleiro.healthchecker.service.cluster;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The instances sharing the crawl and the slice of endpoints this one owns. With no members
+ * configured the instance runs standalone and owns every endpoint. The members are configured at
+ * startup; the ring is built over the ones that are live, so the slice of a member that leaves is
+ * taken over by the others and handed back when it joins again.
+ */
+public class ClusterMembership {
+
+  private final String self;
+  private final int virtualNodes;
+  private final Set<String> configured;
+  private volatile HashRing ring;
+
+  public ClusterMembership(String self, Collection<String> members, int virtualNodes) {
+    this.self = self;
+    this.virtualNodes = virtualNodes;
+    this.configured = nodes(members);
+    this.ring = new HashRing(configured, virtualNodes);
+  }
+
+  public static ClusterMembership standalone() {
+    return new ClusterMembership("", List.of(), 1);
+  }
+
+  public boolean owns(Endpoint endpoint) {
+    return isStandalone() || ring.owner(endpoint.getUrl()).equals(self);
+  }
+
+  public Set<Endpoint> owned(Set<Endpoint> endpoints) {
+    return isStandalone() ? endpoints : endpoints.stream().filter(this::owns).collect(toSet());
+  }
+
+  // Members that are not configured are ignored, and this instance is always live.
+  public void setLive(Collection<String> live) {
+    if (isStandalone()) {
+      return;
+    }
+    final Set<String> nodes = new HashSet<>(live);
+    nodes.retainAll(configured);
+    nodes.add(self);
+    ring = new HashRing(nodes, virtualNodes);
+  }
+
+  public boolean isStandalone() {
+    return configured.isEmpty();
+  }
+
+  public String getSelf() {
+    return self;
+  }
+
+  public Set<String> getConfigured() {
+    return configured;
+  }
+
+  public Set<String> getMembers() {
+    return ring.getNodes();
+  }
+
+  public Set<String> getPeers() {
+    return getMembers().stream().filter(member -> !member.equals(self)).collect(toSet());
+  }
+
+  // A node always owns a slice of its own ring, even before the others list it.
+  private Set<String> nodes(Collection<String> members) {
+    final Set<String> nodes = new HashSet<>(members);
+    if (!nodes.isEmpty()) {
+      nodes.add(self);
+    }
+    return Set.copyOf(nodes);
+  }
+}
@@ -0,0 +1,55 @@
+package com.alexmoleiro.healthchecker.service.cluster;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Consistent-hash ring: each node is placed at virtualNodes points and a key belongs to the first
+ * node clockwise from its hash. Adding or removing a node only moves the keys next to its points.
+ * Hashes are MD5 based so every instance computes the same ring.
+ */
+public class HashRing {
+
+  private final NavigableMap<Long, String> points = new TreeMap<>();
+  private final Set<String> nodes;
+
+  public HashRing(Collection<String> nodes, int virtualNodes) {
+    this.nodes = new TreeSet<>(nodes);
+    this.nodes.forEach(
+        node -> {
+          for (int i = 0; i < virtualNodes; i++) {
+            points.put(hash(node + "#" + i), node);
+          }
+        });
+  }
+
+  public String owner(String key) {
+    if (points.isEmpty()) {
+      throw new IllegalStateException("Empty hash ring");
+    }
+    final Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+    return (point != null ? point : points.firstEntry()).getValue();
+  }
+
+  public Set<String> getNodes() {
+    return nodes;
+  }
+
+  private static long hash(String key) {
+    try {
+      return ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(key.getBytes(UTF_8)))
+          .getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
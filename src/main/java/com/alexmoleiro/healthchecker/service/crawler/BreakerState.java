@@ -0,0 +1,5 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+public enum BreakerState {
+  CLOSED, OPEN, HALF_OPEN;
+}
@@ -0,0 +1,105 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.alexmoleiro.healthchecker.core.healthCheck.ResponseSeries;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.FAST;
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.SLOW;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Separate in-flight limits for fast and slow endpoints. An endpoint is slow when at least half of
+ * its last window checks took longer than slowThreshold or timed out, so a burst of hung sites can
+ * only fill the slow pool and never delays the fast ones. The limits given are the split at full
+ * capacity; it is scaled to the crawler's current limit, so the slow tier keeps its share when
+ * that limit backs off.
+ */
+public class Bulkheads {
+
+  private final HealthCheckRepository healthCheckRepository;
+  private final Duration slowThreshold;
+  private final int window;
+  private final int fastCapacity;
+  private final int slowCapacity;
+  private final Map<LatencyTier, Integer> limits = new EnumMap<>(LatencyTier.class);
+  private final Map<LatencyTier, Integer> inFlight = new EnumMap<>(LatencyTier.class);
+
+  public Bulkheads(
+      HealthCheckRepository healthCheckRepository,
+      Duration slowThreshold,
+      int window,
+      int fastLimit,
+      int slowLimit) {
+    this.healthCheckRepository = healthCheckRepository;
+    this.slowThreshold = slowThreshold;
+    this.window = window;
+    this.fastCapacity = fastLimit;
+    this.slowCapacity = slowLimit;
+    limits.put(FAST, fastLimit);
+    limits.put(SLOW, slowLimit);
+    inFlight.put(FAST, 0);
+    inFlight.put(SLOW, 0);
+  }
+
+  public static Bulkheads single() {
+    return new Bulkheads(null, Duration.ZERO, 0, Integer.MAX_VALUE, 0);
+  }
+
+  public LatencyTier tierOf(Endpoint endpoint) {
+    if (healthCheckRepository == null) {
+      return FAST;
+    }
+    final HealthCheckResponses history = healthCheckRepository.getResponses(endpoint);
+    if (history == null) {
+      return FAST;
+    }
+    final ResponseSeries series = history.getLatest(window);
+    final int count = min(window, series.size());
+    int slow = 0;
+    for (int i = series.size() - count; i < series.size(); i++) {
+      if (series.statusAt(i) == SERVER_TIMEOUT.value()
+          || series.delayAt(i) > slowThreshold.toMillis()) {
+        slow++;
+      }
+    }
+    return count > 0 && slow * 2 >= count ? SLOW : FAST;
+  }
+
+  public synchronized void resize(int total) {
+    if (slowCapacity == 0) {
+      limits.put(FAST, total);
+      return;
+    }
+    final int slow = max(1, (int) ((long) total * slowCapacity / (fastCapacity + slowCapacity)));
+    limits.put(SLOW, slow);
+    limits.put(FAST, max(1, total - slow));
+  }
+
+  public synchronized boolean tryAcquire(LatencyTier tier) {
+    if (inFlight.get(tier) >= limits.get(tier)) {
+      return false;
+    }
+    inFlight.merge(tier, 1, Integer::sum);
+    return true;
+  }
+
+  public synchronized void release(LatencyTier tier) {
+    inFlight.merge(tier, -1, Integer::sum);
+  }
+
+  public synchronized int getInFlight(LatencyTier tier) {
+    return inFlight.get(tier);
+  }
+
+  public synchronized int getLimit(LatencyTier tier) {
+    return limits.get(tier);
+  }
+}
@@ -0,0 +1,28 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+
+import java.time.Duration;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
+
+public class CheckIntervals {
+
+  private final Duration landing;
+  private final Duration followed;
+  private final Duration minimum;
+
+  public CheckIntervals(Duration landing, Duration followed, Duration minimum) {
+    this.landing = landing;
+    this.followed = followed;
+    this.minimum = minimum;
+  }
+
+  public Duration of(Endpoint endpoint) {
+    final Duration interval =
+        endpoint
+            .getCheckInterval()
+            .orElse(endpoint.getEndpointType() == LANDING ? landing : followed);
+    return interval.compareTo(minimum) < 0 ? minimum : interval;
+  }
+}
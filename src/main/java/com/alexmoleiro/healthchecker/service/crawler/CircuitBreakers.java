@@ -0,0 +1,147 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.CLOSED;
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.HALF_OPEN;
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.OPEN;
+import static java.time.Clock.systemUTC;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * One breaker per host. After failureThreshold checks in a row that could not reach the host the
+ * breaker opens and the host is not checked for openFor; then a single probe is let through and its
+ * result closes the breaker or opens it again. A probe that is abandoned, or that has not reported
+ * within another openFor, makes way for the next one. A threshold of 0 disables the breakers.
+ */
+public class CircuitBreakers {
+
+  private final int failureThreshold;
+  private final Duration openFor;
+  private final Clock clock;
+  private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+  private final AtomicLong shortCircuited = new AtomicLong();
+
+  public CircuitBreakers(int failureThreshold, Duration openFor) {
+    this(failureThreshold, openFor, systemUTC());
+  }
+
+  public CircuitBreakers(int failureThreshold, Duration openFor, Clock clock) {
+    this.failureThreshold = failureThreshold;
+    this.openFor = openFor;
+    this.clock = clock;
+  }
+
+  public static CircuitBreakers disabled() {
+    return new CircuitBreakers(0, Duration.ZERO);
+  }
+
+  public boolean allow(Endpoint endpoint) {
+    final Breaker breaker = breakers.get(hostOf(endpoint));
+    if (breaker == null || breaker.allow(clock.instant(), openFor)) {
+      return true;
+    }
+    shortCircuited.incrementAndGet();
+    return false;
+  }
+
+  public void record(Endpoint endpoint, int status) {
+    if (failureThreshold == 0) {
+      return;
+    }
+    if (isUnreachable(status)) {
+      breakers
+          .computeIfAbsent(hostOf(endpoint), Breaker::new)
+          .failed(clock.instant(), failureThreshold);
+    } else {
+      breakers.remove(hostOf(endpoint));
+    }
+  }
+
+  // For a check that was let through but ends without a result, such as a cancelled retry.
+  public void abandon(Endpoint endpoint) {
+    final Breaker breaker = breakers.get(hostOf(endpoint));
+    if (breaker != null) {
+      breaker.abandon();
+    }
+  }
+
+  public static boolean isUnreachable(int status) {
+    return status == SERVICE_UNAVAILABLE.value() || status == GATEWAY_TIMEOUT.value();
+  }
+
+  public List<Breaker> getTripped() {
+    return breakers.values().stream().filter(b -> b.getState() != CLOSED).collect(toList());
+  }
+
+  public long getShortCircuited() {
+    return shortCircuited.get();
+  }
+
+  private String hostOf(Endpoint endpoint) {
+    return endpoint.getHttpUrl().getUrl().getHost();
+  }
+
+  public static class Breaker {
+    private final String host;
+    private BreakerState state = CLOSED;
+    private int failures;
+    private Instant openedAt;
+    private Instant probedAt;
+
+    private Breaker(String host) {
+      this.host = host;
+    }
+
+    private synchronized boolean allow(Instant now, Duration openFor) {
+      if (state == OPEN && !now.isBefore(openedAt.plus(openFor))
+          || state == HALF_OPEN && !now.isBefore(probedAt.plus(openFor))) {
+        state = HALF_OPEN;
+        probedAt = now;
+        return true;
+      }
+      return state == CLOSED;
+    }
+
+    // Open again since the same moment, so the next check is the new probe.
+    private synchronized void abandon() {
+      if (state == HALF_OPEN) {
+        state = OPEN;
+      }
+    }
+
+    private synchronized void failed(Instant now, int failureThreshold) {
+      failures++;
+      if (state == HALF_OPEN || failures >= failureThreshold) {
+        state = OPEN;
+        openedAt = now;
+      }
+    }
+
+    public String getHost() {
+      return host;
+    }
+
+    public synchronized BreakerState getState() {
+      return state;
+    }
+
+    public synchronized int getFailures() {
+      return failures;
+    }
+
+    public synchronized Instant getOpenedAt() {
+      return openedAt;
+    }
+  }
+}
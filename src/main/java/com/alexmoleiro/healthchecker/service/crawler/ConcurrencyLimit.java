@@ -0,0 +1,157 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.time.Duration;
+
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.ERROR_BACKOFF;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.HOLD;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.INCREASE;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.LATENCY_BACKOFF;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.NONE;
+import static java.lang.Math.ceil;
+
+/**
+ * AIMD limit on checks in flight. After every limit results it looks at their mean latency and
+ * error rate: it backs off by a quarter when errors pass maxErrorRate or latency doubles over the
+ * best mean seen, and otherwise grows, doubling until the first back-off and by one afterwards.
+ * Growth stops at the Little's law target, the rate endpoints arrive at times the measured mean
+ * latency, plus some headroom. A crawl cycle arrives as its endpoints spread over targetCycle;
+ * endpoints that come due one by one report their own rate.
+ */
+public class ConcurrencyLimit {
+
+  private static final double BACKOFF = 0.75;
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double BASELINE_DRIFT = 0.05;
+  private static final double HEADROOM = 1.2;
+  private final int min;
+  private final int max;
+  private final Duration targetCycle;
+  private final double maxErrorRate;
+  private final boolean adaptive;
+  private int limit;
+  private boolean slowStart = true;
+  private int samples;
+  private int errors;
+  private long latencySum;
+  private double baseline;
+  private double meanLatency;
+  private double errorRate;
+  private double arrivalsPerMilli;
+  private int target;
+  private long increases;
+  private long decreases;
+  private LimitDecision lastDecision = NONE;
+
+  public ConcurrencyLimit(int min, int max, Duration targetCycle, double maxErrorRate) {
+    this(min, max, targetCycle, maxErrorRate, true);
+  }
+
+  private ConcurrencyLimit(
+      int min, int max, Duration targetCycle, double maxErrorRate, boolean adaptive) {
+    this.min = min;
+    this.max = max;
+    this.targetCycle = targetCycle;
+    this.maxErrorRate = maxErrorRate;
+    this.adaptive = adaptive;
+    this.limit = min;
+    this.target = max;
+  }
+
+  public static ConcurrencyLimit fixed(int limit) {
+    return new ConcurrencyLimit(limit, limit, Duration.ZERO, 1, false);
+  }
+
+  public synchronized void onCycle(int endpoints) {
+    if (!targetCycle.isZero()) {
+      arrivalsPerMilli = (double) endpoints / targetCycle.toMillis();
+    }
+    updateTarget();
+  }
+
+  public synchronized void onArrivals(double perSecond) {
+    arrivalsPerMilli = perSecond / 1000;
+    updateTarget();
+  }
+
+  public synchronized void onResult(long latencyMillis, boolean error) {
+    if (!adaptive) {
+      return;
+    }
+    samples++;
+    latencySum += latencyMillis;
+    if (error) {
+      errors++;
+    }
+    if (samples >= limit) {
+      decide();
+    }
+  }
+
+  private void decide() {
+    meanLatency = (double) latencySum / samples;
+    errorRate = (double) errors / samples;
+    samples = 0;
+    errors = 0;
+    latencySum = 0;
+    updateTarget();
+    final boolean slower = baseline > 0 && meanLatency > baseline * LATENCY_TOLERANCE;
+    baseline =
+        baseline == 0 || meanLatency < baseline
+            ? meanLatency
+            : baseline + (meanLatency - baseline) * BASELINE_DRIFT;
+    if (errorRate > maxErrorRate || slower) {
+      limit = Math.max(min, (int) (limit * BACKOFF));
+      slowStart = false;
+      decreases++;
+      lastDecision = errorRate > maxErrorRate ? ERROR_BACKOFF : LATENCY_BACKOFF;
+    } else if (limit < ceiling()) {
+      limit = Math.min(ceiling(), slowStart ? limit * 2 : limit + 1);
+      increases++;
+      lastDecision = INCREASE;
+    } else {
+      lastDecision = HOLD;
+    }
+  }
+
+  private void updateTarget() {
+    if (arrivalsPerMilli > 0 && meanLatency > 0) {
+      target = (int) ceil(arrivalsPerMilli * meanLatency);
+    }
+  }
+
+  private int ceiling() {
+    return Math.min(max, Math.max(min, (int) ceil(target * HEADROOM)));
+  }
+
+  public synchronized int getLimit() {
+    return limit;
+  }
+
+  public synchronized int getTarget() {
+    return target;
+  }
+
+  public synchronized double getMeanLatency() {
+    return meanLatency;
+  }
+
+  public synchronized double getErrorRate() {
+    return errorRate;
+  }
+
+  public synchronized long getIncreases() {
+    return increases;
+  }
+
+  public synchronized long getDecreases() {
+    return decreases;
+  }
+
+  public synchronized LimitDecision getLastDecision() {
+    return lastDecision;
+  }
+
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+}
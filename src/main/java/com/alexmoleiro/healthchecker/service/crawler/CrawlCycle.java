@@ -0,0 +1,92 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Clock.systemUTC;
+import static java.time.Duration.between;
+import static java.time.LocalDateTime.now;
+
+public class CrawlCycle {
+
+  private final LocalDateTime start = now(systemUTC());
+  private final AtomicInteger pending;
+  private final AtomicInteger checked = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+  private final AtomicInteger hopsSaved = new AtomicInteger();
+  private final CompletableFuture<CrawlCycle> completion = new CompletableFuture<>();
+  private volatile LocalDateTime end;
+
+  public CrawlCycle(int endpoints) {
+    this.pending = new AtomicInteger(endpoints);
+    if (endpoints == 0) {
+      finish();
+    }
+  }
+
+  public void checked() {
+    checked.incrementAndGet();
+    done();
+  }
+
+  public void savedHops(int hops) {
+    hopsSaved.addAndGet(hops);
+  }
+
+  public void skipped() {
+    skipped.incrementAndGet();
+    done();
+  }
+
+  public CompletableFuture<CrawlCycle> completion() {
+    return completion;
+  }
+
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  public LocalDateTime getEnd() {
+    return end;
+  }
+
+  public Duration getDuration() {
+    return between(start, end != null ? end : now(systemUTC()));
+  }
+
+  public int getChecked() {
+    return checked.get();
+  }
+
+  public int getSkipped() {
+    return skipped.get();
+  }
+
+  public int getHopsSaved() {
+    return hopsSaved.get();
+  }
+
+  private void done() {
+    if (pending.decrementAndGet() == 0) {
+      finish();
+    }
+  }
+
+  private void finish() {
+    end = now(systemUTC());
+    completion.complete(this);
+  }
+
+  @Override
+  public String toString() {
+    return "{" +
+        "start=" + start +
+        ", end=" + end +
+        ", checked=" + checked +
+        ", skipped=" + skipped +
+        ", hopsSaved=" + hopsSaved +
+        '}';
+  }
+}
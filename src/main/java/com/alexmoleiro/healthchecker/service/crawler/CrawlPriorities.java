@@ -0,0 +1,131 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.alexmoleiro.healthchecker.core.healthCheck.ResponseSeries;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.CHANGED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.FOLLOWED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.OVERDUE;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.ROUTINE;
+import static java.time.Clock.systemUTC;
+import static java.time.Duration.ZERO;
+import static java.time.LocalDateTime.now;
+import static java.util.Optional.empty;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Orders the crawl: endpoints whose state just changed or is being confirmed go first, then the
+ * ones overdue by half an interval, then the ones users follow. A site that goes down is rechecked
+ * up to rechecks times, delay apart, so the outage is confirmed without waiting for the next
+ * cycle; sites that stay up or stay down are never rechecked.
+ */
+public class CrawlPriorities {
+
+  private final HealthCheckRepository healthCheckRepository;
+  private final CheckIntervals checkIntervals;
+  private final int rechecks;
+  private final Duration delay;
+  private final Clock clock;
+  private final Map<Endpoint, Integer> confirming = new ConcurrentHashMap<>();
+
+  public CrawlPriorities(
+      HealthCheckRepository healthCheckRepository,
+      CheckIntervals checkIntervals,
+      int rechecks,
+      Duration delay) {
+    this(healthCheckRepository, checkIntervals, rechecks, delay, systemUTC());
+  }
+
+  public CrawlPriorities(
+      HealthCheckRepository healthCheckRepository,
+      CheckIntervals checkIntervals,
+      int rechecks,
+      Duration delay,
+      Clock clock) {
+    this.healthCheckRepository = healthCheckRepository;
+    this.checkIntervals = checkIntervals;
+    this.rechecks = rechecks;
+    this.delay = delay;
+    this.clock = clock;
+  }
+
+  public static CrawlPriorities fifo() {
+    return new CrawlPriorities(null, null, 0, ZERO);
+  }
+
+  public CrawlPriority of(Endpoint endpoint) {
+    if (healthCheckRepository == null) {
+      return ROUTINE;
+    }
+    final HealthCheckResponses history = healthCheckRepository.getResponses(endpoint);
+    if (confirming.containsKey(endpoint) || hasChanged(history)) {
+      return CHANGED;
+    }
+    if (isOverdue(endpoint, history)) {
+      return OVERDUE;
+    }
+    return endpoint.getEndpointType() == LANDING ? ROUTINE : FOLLOWED;
+  }
+
+  // Called before the response is recorded, so the latest one in the history is the previous check.
+  public Optional<Duration> recheck(Endpoint endpoint, HealthCheckResponse response) {
+    if (rechecks == 0 || isUp(response)) {
+      confirming.remove(endpoint);
+      return empty();
+    }
+    final Integer done = confirming.get(endpoint);
+    if (done == null) {
+      final HealthCheckResponse previous = latest(healthCheckRepository.getResponses(endpoint), 0);
+      if (previous != null && !isUp(previous)) {
+        return empty();
+      }
+      confirming.put(endpoint, 1);
+      return Optional.of(delay);
+    }
+    if (done >= rechecks) {
+      confirming.remove(endpoint);
+      return empty();
+    }
+    confirming.put(endpoint, done + 1);
+    return Optional.of(delay);
+  }
+
+  private boolean hasChanged(HealthCheckResponses history) {
+    final HealthCheckResponse last = latest(history, 0);
+    final HealthCheckResponse before = latest(history, 1);
+    return last != null && before != null && isUp(last) != isUp(before);
+  }
+
+  private boolean isOverdue(Endpoint endpoint, HealthCheckResponses history) {
+    final HealthCheckResponse last = latest(history, 0);
+    if (last == null) {
+      return true;
+    }
+    final Duration interval = checkIntervals.of(endpoint);
+    final LocalDateTime due = last.getTime().plus(interval).plus(interval.dividedBy(2));
+    return now(clock).isAfter(due);
+  }
+
+  private HealthCheckResponse latest(HealthCheckResponses history, int skip) {
+    if (history == null) {
+      return null;
+    }
+    final ResponseSeries latest = history.getLatest(skip + 1);
+    return latest.size() <= skip ? null : latest.get(latest.size() - 1 - skip);
+  }
+
+  private boolean isUp(HealthCheckResponse response) {
+    return response.getStatus() == OK.value();
+  }
+}
@@ -0,0 +1,5 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+public enum CrawlPriority {
+  ON_DEMAND, CHANGED, OVERDUE, FOLLOWED, ROUTINE;
+}
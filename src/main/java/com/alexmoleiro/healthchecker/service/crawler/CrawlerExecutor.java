@@ -0,0 +1,14 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.util.concurrent.Executor;
+
+public interface CrawlerExecutor extends Executor {
+
+  CrawlerExecutorType getType();
+
+  int getQueueDepth();
+
+  int getActiveCount();
+
+  void shutdown();
+}
@@ -0,0 +1,5 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+public enum CrawlerExecutorType {
+  PLATFORM, FORK_JOIN, THREAD_PER_CHECK;
+}
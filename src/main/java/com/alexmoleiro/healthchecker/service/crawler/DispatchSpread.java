@@ -0,0 +1,40 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+
+import java.time.Duration;
+
+import static java.lang.Math.floorMod;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+
+/**
+ * Spreads the endpoints of a cycle over a window instead of releasing them all on the tick. Each
+ * endpoint keeps the same offset every cycle, derived from its url (ids differ between instances),
+ * so it is checked at a steady spacing.
+ */
+public class DispatchSpread {
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+  private final Duration window;
+
+  public DispatchSpread(Duration window) {
+    this.window = window;
+  }
+
+  public static DispatchSpread none() {
+    return new DispatchSpread(ZERO);
+  }
+
+  public Duration offsetOf(Endpoint endpoint) {
+    if (window.toMillis() == 0) {
+      return ZERO;
+    }
+    final long mixed = endpoint.getUrl().hashCode() * GOLDEN_RATIO;
+    return ofMillis(floorMod(mixed >>> 16, window.toMillis()));
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+}
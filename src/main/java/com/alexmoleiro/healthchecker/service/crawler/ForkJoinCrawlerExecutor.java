@@ -0,0 +1,46 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutorType.FORK_JOIN;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+
+public class ForkJoinCrawlerExecutor implements CrawlerExecutor {
+
+  private final ForkJoinPool pool;
+
+  public ForkJoinCrawlerExecutor(int parallelism) {
+    this(new ForkJoinPool(parallelism));
+  }
+
+  public ForkJoinCrawlerExecutor(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    pool.execute(command);
+  }
+
+  @Override
+  public CrawlerExecutorType getType() {
+    return FORK_JOIN;
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return (int) (pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+  }
+
+  @Override
+  public int getActiveCount() {
+    return pool.getActiveThreadCount();
+  }
+
+  @Override
+  public void shutdown() {
+    if (pool != commonPool()) {
+      pool.shutdown();
+    }
+  }
+}
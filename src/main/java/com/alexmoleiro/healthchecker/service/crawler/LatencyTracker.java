@@ -0,0 +1,40 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.time.Duration.ofMillis;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+public class LatencyTracker {
+
+  private static final double P95 = 0.95;
+  private final long[] samples;
+  private final int minSamples;
+  private int next;
+  private int count;
+
+  public LatencyTracker(int window, int minSamples) {
+    this.samples = new long[window];
+    this.minSamples = minSamples;
+  }
+
+  public synchronized void record(long millis) {
+    samples[next] = millis;
+    next = (next + 1) % samples.length;
+    count = min(count + 1, samples.length);
+  }
+
+  public synchronized Optional<Duration> p95() {
+    if (count < minSamples) {
+      return empty();
+    }
+    final long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    return of(ofMillis(sorted[(int) ceil(P95 * count) - 1]));
+  }
+}
@@ -0,0 +1,5 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+public enum LimitDecision {
+  NONE, INCREASE, HOLD, LATENCY_BACKOFF, ERROR_BACKOFF;
+}
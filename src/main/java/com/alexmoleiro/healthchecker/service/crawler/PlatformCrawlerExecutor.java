@@ -0,0 +1,86 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutorType.PLATFORM;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Fixed pool of nThreads with a bounded queue. Once the queue is full the submitting thread runs
+ * the task itself, which slows whoever is feeding the pool instead of dropping checks or
+ * completions.
+ */
+public class PlatformCrawlerExecutor implements CrawlerExecutor {
+
+  private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+  private final ThreadPoolExecutor pool;
+  private final AtomicLong callerRuns = new AtomicLong();
+
+  public PlatformCrawlerExecutor(int nThreads) {
+    this(nThreads, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  public PlatformCrawlerExecutor(int nThreads, int queueCapacity) {
+    this.pool =
+        new ThreadPoolExecutor(
+            nThreads,
+            nThreads,
+            0L,
+            MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory(),
+            runOnCaller());
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    pool.execute(command);
+  }
+
+  @Override
+  public CrawlerExecutorType getType() {
+    return PLATFORM;
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return pool.getQueue().size();
+  }
+
+  @Override
+  public int getActiveCount() {
+    return pool.getActiveCount();
+  }
+
+  public long getCallerRuns() {
+    return callerRuns.get();
+  }
+
+  @Override
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  private RejectedExecutionHandler runOnCaller() {
+    final CallerRunsPolicy callerRunsPolicy = new CallerRunsPolicy();
+    return (runnable, executor) -> {
+      callerRuns.incrementAndGet();
+      callerRunsPolicy.rejectedExecution(runnable, executor);
+    };
+  }
+
+  private static ThreadFactory threadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, "crawler-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,124 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.bucket4j.Bandwidth.classic;
+import static io.github.bucket4j.Bucket4j.builder;
+import static io.github.bucket4j.Refill.greedy;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Per-host and per-group limits on checks in flight and checks started per second. A check timed
+ * by PhaseTimer first opens a short-lived connection of its own to the host, so it takes
+ * connectionsPerCheck tokens of the per-second limits. That connection is closed before the check
+ * starts, so the concurrent limits still count checks.
+ */
+public class Politeness {
+
+  private static final int UNLIMITED = 0;
+  private static final int ONE = 1;
+  private final int hostConcurrent;
+  private final int groupConcurrent;
+  private final int hostPerSecond;
+  private final int groupPerSecond;
+  private final int connectionsPerCheck;
+  private final Map<String, Integer> hostInFlight = new HashMap<>();
+  private final Map<String, Integer> groupInFlight = new HashMap<>();
+  private final Map<String, Bucket> hostBuckets = new HashMap<>();
+  private final Map<String, Bucket> groupBuckets = new HashMap<>();
+  private long deferred;
+
+  public Politeness(int hostConcurrent, int groupConcurrent, int hostPerSecond, int groupPerSecond) {
+    this(hostConcurrent, groupConcurrent, hostPerSecond, groupPerSecond, ONE);
+  }
+
+  public Politeness(
+      int hostConcurrent,
+      int groupConcurrent,
+      int hostPerSecond,
+      int groupPerSecond,
+      int connectionsPerCheck) {
+    this.hostConcurrent = hostConcurrent;
+    this.groupConcurrent = groupConcurrent;
+    this.hostPerSecond = hostPerSecond;
+    this.groupPerSecond = groupPerSecond;
+    this.connectionsPerCheck = connectionsPerCheck;
+  }
+
+  public static Politeness unlimited() {
+    return new Politeness(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
+  }
+
+  public synchronized boolean tryAcquire(Endpoint endpoint) {
+    final String host = hostOf(endpoint);
+    final String group = endpoint.getGroup();
+    if (saturated(hostInFlight, host, hostConcurrent)
+        || saturated(groupInFlight, group, groupConcurrent)
+        || exhausted(hostBuckets, host, hostPerSecond)
+        || exhausted(groupBuckets, group, groupPerSecond)) {
+      deferred++;
+      return false;
+    }
+    consume(hostBuckets, host, hostPerSecond);
+    consume(groupBuckets, group, groupPerSecond);
+    hostInFlight.merge(host, ONE, Integer::sum);
+    groupInFlight.merge(group, ONE, Integer::sum);
+    return true;
+  }
+
+  public synchronized void release(Endpoint endpoint) {
+    hostInFlight.computeIfPresent(hostOf(endpoint), (host, n) -> n > ONE ? n - ONE : null);
+    groupInFlight.computeIfPresent(endpoint.getGroup(), (group, n) -> n > ONE ? n - ONE : null);
+  }
+
+  public boolean isRateLimited() {
+    return hostPerSecond != UNLIMITED || groupPerSecond != UNLIMITED;
+  }
+
+  public Duration getRetryDelay() {
+    final int perSecond = max(hostPerSecond, groupPerSecond);
+    return perSecond == UNLIMITED ? ofSeconds(ONE) : ofMillis(max(ONE, 1000 / perSecond));
+  }
+
+  public synchronized long getDeferred() {
+    return deferred;
+  }
+
+  private boolean saturated(Map<String, Integer> inFlight, String key, int limit) {
+    return limit != UNLIMITED && inFlight.getOrDefault(key, 0) >= limit;
+  }
+
+  private boolean exhausted(Map<String, Bucket> buckets, String key, int perSecond) {
+    return perSecond != UNLIMITED
+        && bucket(buckets, key, perSecond).getAvailableTokens() < tokens(perSecond);
+  }
+
+  private void consume(Map<String, Bucket> buckets, String key, int perSecond) {
+    if (perSecond != UNLIMITED) {
+      bucket(buckets, key, perSecond).tryConsume(tokens(perSecond));
+    }
+  }
+
+  // A limit below connectionsPerCheck still lets one check through per second.
+  private int tokens(int perSecond) {
+    return min(connectionsPerCheck, perSecond);
+  }
+
+  private Bucket bucket(Map<String, Bucket> buckets, String key, int perSecond) {
+    return buckets.computeIfAbsent(
+        key,
+        k -> builder().addLimit(classic(perSecond, greedy(perSecond, ofSeconds(ONE)))).build());
+  }
+
+  private String hostOf(Endpoint endpoint) {
+    return endpoint.getHttpUrl().getUrl().getHost();
+  }
+}
@@ -0,0 +1,50 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.time.Duration;
+
+import static java.lang.Math.min;
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+public class RetryPolicy {
+
+  private static final int ONE_ATTEMPT = 1;
+  private final int maxAttempts;
+  private final Duration baseDelay;
+  private final Duration maxDelay;
+  private final boolean hedge;
+
+  public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, boolean hedge) {
+    this.maxAttempts = maxAttempts;
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.hedge = hedge;
+  }
+
+  public static RetryPolicy none() {
+    return new RetryPolicy(ONE_ATTEMPT, ZERO, ZERO, false);
+  }
+
+  public boolean shouldRetry(int status, int attempt) {
+    return attempt < maxAttempts && isRetryable(status);
+  }
+
+  // Timeouts and unreachable hosts are often transient; anything else the site really answered.
+  public boolean isRetryable(int status) {
+    return status == GATEWAY_TIMEOUT.value() || status == SERVICE_UNAVAILABLE.value();
+  }
+
+  // Full jitter: a random wait up to the exponential backoff, so retries of a host that dropped
+  // many checks at once don't come back at the same moment.
+  public Duration backoff(int attempt) {
+    final long ceiling = min(maxDelay.toMillis(), baseDelay.toMillis() << min(attempt - 1, 20));
+    return ceiling <= 0 ? ZERO : ofMillis(current().nextLong(ceiling + 1));
+  }
+
+  public boolean isHedging() {
+    return hedge;
+  }
+}
@@ -0,0 +1,5 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+public enum SchedulerType {
+  CRON, WHEEL;
+}
@@ -0,0 +1,72 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerExecutorType.THREAD_PER_CHECK;
+
+public class ThreadPerCheckCrawlerExecutor implements CrawlerExecutor {
+
+  private final AtomicInteger active = new AtomicInteger();
+  private final ExecutorService virtualThreads = virtualThreadPerTaskExecutor();
+  private final Executor executor =
+      virtualThreads != null ? virtualThreads : ThreadPerCheckCrawlerExecutor::startPlatformThread;
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(
+        () -> {
+          active.incrementAndGet();
+          try {
+            command.run();
+          } finally {
+            active.decrementAndGet();
+          }
+        });
+  }
+
+  @Override
+  public CrawlerExecutorType getType() {
+    return THREAD_PER_CHECK;
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return 0;
+  }
+
+  @Override
+  public int getActiveCount() {
+    return active.get();
+  }
+
+  public boolean isVirtual() {
+    return virtualThreads != null;
+  }
+
+  @Override
+  public void shutdown() {
+    if (virtualThreads != null) {
+      virtualThreads.shutdown();
+    }
+  }
+
+  // Virtual threads only exist from Java 21 on, so look the factory up at runtime and fall back
+  // to a platform thread per check on older JVMs.
+  private static ExecutorService virtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static void startPlatformThread(Runnable runnable) {
+    final Thread thread = new Thread(runnable, "crawler-check");
+    thread.setDaemon(true);
+    thread.start();
+  }
+}
@@ -0,0 +1,96 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
+import com.alexmoleiro.healthchecker.core.healthCheck.ResponseSeries;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+import static java.time.Duration.ofMillis;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Per-endpoint timeout: a multiple of the p99 latency of its recent checks, kept between a floor
+ * and a ceiling. Endpoints with too little history get the ceiling, which is the client's own
+ * timeout, so every check records the timeout it ran with. When disabled there is no budget and
+ * checks fall back to the client's timeout. Only checks the origin answered are samples: timeouts,
+ * connection failures and unknown hosts (504 and 503) say nothing about its latency. A check that
+ * timed out is followed by one at the ceiling, so a site that got slower is heard and its new
+ * latency raises the budget.
+ */
+public class TimeoutBudget {
+
+  private static final double P99 = 0.99;
+  private final HealthCheckRepository healthCheckRepository;
+  private final double multiplier;
+  private final Duration floor;
+  private final Duration ceiling;
+  private final int window;
+  private final int minSamples;
+
+  public TimeoutBudget(
+      HealthCheckRepository healthCheckRepository,
+      double multiplier,
+      Duration floor,
+      Duration ceiling,
+      int window,
+      int minSamples) {
+    this.healthCheckRepository = healthCheckRepository;
+    this.multiplier = multiplier;
+    this.floor = floor;
+    this.ceiling = ceiling;
+    this.window = window;
+    this.minSamples = minSamples;
+  }
+
+  public static TimeoutBudget none() {
+    return new TimeoutBudget(null, 0, Duration.ZERO, Duration.ZERO, 0, 0);
+  }
+
+  public Optional<Duration> forEndpoint(Endpoint endpoint) {
+    if (healthCheckRepository == null) {
+      return empty();
+    }
+    final HealthCheckResponses history = healthCheckRepository.getResponses(endpoint);
+    if (history == null) {
+      return of(ceiling);
+    }
+    final long[] delays = new long[window];
+    int count = 0;
+    final ResponseSeries series = history.getLatest(window);
+    for (int i = series.size() - 1; count < window && i >= 0; i--) {
+      if (isAnswered(series.statusAt(i))) {
+        delays[count++] = series.delayAt(i);
+      }
+    }
+    if (count == 0 || count < minSamples) {
+      return of(ceiling);
+    }
+    if (series.statusAt(series.size() - 1) == SERVER_TIMEOUT.value()) {
+      return afterTimeout();
+    }
+    final long[] sorted = Arrays.copyOf(delays, count);
+    Arrays.sort(sorted);
+    final long budget = round(sorted[(int) ceil(P99 * count) - 1] * multiplier);
+    return of(ofMillis(min(max(budget, floor.toMillis()), ceiling.toMillis())));
+  }
+
+  // The budget for a retry of a check that just timed out.
+  public Optional<Duration> afterTimeout() {
+    return healthCheckRepository == null ? empty() : of(ceiling);
+  }
+
+  private static boolean isAnswered(int status) {
+    return status != SERVER_TIMEOUT.value() && status != SERVICE_UNAVAILABLE.value();
+  }
+}
@@ -0,0 +1,68 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+
+/**
+ * Hashed timing wheel: each slot holds the entries expiring on that tick, plus the number of full
+ * turns they still have to wait, so scheduling and expiring are O(1) per entry.
+ */
+public class TimingWheel<T> {
+
+  private final long tickMillis;
+  private final List<LinkedList<Entry<T>>> slots;
+  private final int mask;
+  private int cursor;
+
+  public TimingWheel(Duration tick, int size) {
+    final int slotCount = highestOneBit(max(size, 1) * 2 - 1);
+    this.tickMillis = tick.toMillis();
+    this.mask = slotCount - 1;
+    this.slots = new ArrayList<>(slotCount);
+    for (int i = 0; i < slotCount; i++) {
+      slots.add(new LinkedList<>());
+    }
+  }
+
+  public synchronized void schedule(T item, Duration delay) {
+    final long ticks = max(1, (delay.toMillis() + tickMillis - 1) / tickMillis);
+    final int slot = (int) ((cursor + ticks) & mask);
+    slots.get(slot).add(new Entry<>(item, (ticks - 1) / slots.size()));
+  }
+
+  public synchronized List<T> advance() {
+    cursor = (cursor + 1) & mask;
+    final List<T> expired = new ArrayList<>();
+    final Iterator<Entry<T>> entries = slots.get(cursor).iterator();
+    while (entries.hasNext()) {
+      final Entry<T> entry = entries.next();
+      if (entry.rounds == 0) {
+        expired.add(entry.item);
+        entries.remove();
+      } else {
+        entry.rounds--;
+      }
+    }
+    return expired;
+  }
+
+  public synchronized int size() {
+    return slots.stream().mapToInt(List::size).sum();
+  }
+
+  private static class Entry<T> {
+    private final T item;
+    private long rounds;
+
+    private Entry(T item, long rounds) {
+      this.item = item;
+      this.rounds = rounds;
+    }
+  }
+}
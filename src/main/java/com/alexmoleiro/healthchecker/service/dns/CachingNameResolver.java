@@ -0,0 +1,224 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.Clock.systemUTC;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Resolver cache in front of the crawler's checks. Names that resolve are kept for ttl, the time
+ * the JVM keeps them too, and names still in use are looked up again on executor as soon as they
+ * lapse, which refills the JVM cache HttpClient resolves through before a check has to wait on it.
+ * A name the DNS confirms does not exist is kept for negativeTtl, so a dead domain costs one
+ * lookup per negative TTL instead of one per check. Any other failure may be transient and is
+ * kept only for failureTtl, then tried again.
+ */
+public class CachingNameResolver implements NameResolver {
+
+  private static final Logger LOGGER = getLogger(CachingNameResolver.class);
+  private final NameResolver delegate;
+  private final Duration ttl;
+  private final Duration negativeTtl;
+  private final Duration failureTtl;
+  private final Executor executor;
+  private final Clock clock;
+  private final Map<String, Resolution> cache = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong negativeHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong prefetched = new AtomicLong();
+  private final AtomicLong lookups = new AtomicLong();
+
+  public CachingNameResolver(
+      NameResolver delegate,
+      Duration ttl,
+      Duration negativeTtl,
+      Duration failureTtl,
+      Executor executor) {
+    this(delegate, ttl, negativeTtl, failureTtl, executor, systemUTC());
+  }
+
+  public CachingNameResolver(
+      NameResolver delegate,
+      Duration ttl,
+      Duration negativeTtl,
+      Duration failureTtl,
+      Executor executor,
+      Clock clock) {
+    this.delegate = delegate;
+    this.ttl = ttl;
+    this.negativeTtl = negativeTtl;
+    this.failureTtl = failureTtl;
+    this.executor = executor;
+    this.clock = clock;
+  }
+
+  @Override
+  public InetAddress[] resolve(String host) throws UnknownHostException {
+    final Resolution cached = fresh(host);
+    return cached == null ? lookup(host, clock.instant()) : cached.addresses();
+  }
+
+  @Override
+  public CompletableFuture<InetAddress[]> resolveAsync(String host) {
+    final Resolution cached = fresh(host);
+    if (cached == null) {
+      return supplyAsync(
+          () -> {
+            try {
+              return lookup(host, clock.instant());
+            } catch (UnknownHostException e) {
+              throw new CompletionException(e);
+            }
+          },
+          executor);
+    }
+    try {
+      return completedFuture(cached.addresses());
+    } catch (UnknownHostException e) {
+      return failedFuture(e);
+    }
+  }
+
+  // Names used within the last ttl are refreshed once they lapse; the rest are dropped.
+  @Scheduled(fixedDelayString = "${dns.prefetch.period}")
+  public void prefetch() {
+    final Instant now = clock.instant();
+    cache.forEach(
+        (host, resolution) -> {
+          if (!resolution.isExpired(now)) {
+            return;
+          }
+          if (resolution.isResolved() && resolution.wasUsedSince(now.minus(ttl))) {
+            if (resolution.claim()) {
+              prefetched.incrementAndGet();
+              executor.execute(() -> refresh(host, resolution.lastUsed));
+            }
+          } else {
+            cache.remove(host, resolution);
+          }
+        });
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getNegativeHits() {
+    return negativeHits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getPrefetched() {
+    return prefetched.get();
+  }
+
+  public long getLookups() {
+    return lookups.get();
+  }
+
+  public int getSize() {
+    return cache.size();
+  }
+
+  private Resolution fresh(String host) {
+    final Instant now = clock.instant();
+    final Resolution cached = cache.get(host);
+    if (cached == null || cached.isExpired(now)) {
+      misses.incrementAndGet();
+      return null;
+    }
+    cached.lastUsed = now;
+    (cached.isResolved() ? hits : negativeHits).incrementAndGet();
+    return cached;
+  }
+
+  private void refresh(String host, Instant lastUsed) {
+    try {
+      lookup(host, lastUsed);
+    } catch (UnknownHostException e) {
+      LOGGER.debug("{} no longer resolves", host);
+    }
+  }
+
+  private InetAddress[] lookup(String host, Instant lastUsed) throws UnknownHostException {
+    lookups.incrementAndGet();
+    final Instant now = clock.instant();
+    try {
+      final InetAddress[] addresses = delegate.resolve(host);
+      cache.put(host, new Resolution(host, addresses, false, now.plus(ttl), lastUsed));
+      return addresses;
+    } catch (NoSuchHostException e) {
+      cache.put(host, new Resolution(host, null, true, now.plus(negativeTtl), lastUsed));
+      throw e;
+    } catch (UnknownHostException e) {
+      cache.put(host, new Resolution(host, null, false, now.plus(failureTtl), lastUsed));
+      throw e;
+    }
+  }
+
+  private static class Resolution {
+    private final String host;
+    private final InetAddress[] addresses;
+    private final boolean nxDomain;
+    private final Instant expiresAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Instant lastUsed;
+
+    private Resolution(
+        String host,
+        InetAddress[] addresses,
+        boolean nxDomain,
+        Instant expiresAt,
+        Instant lastUsed) {
+      this.host = host;
+      this.addresses = addresses;
+      this.nxDomain = nxDomain;
+      this.expiresAt = expiresAt;
+      this.lastUsed = lastUsed;
+    }
+
+    private InetAddress[] addresses() throws UnknownHostException {
+      if (addresses != null) {
+        return addresses;
+      }
+      throw nxDomain ? new NoSuchHostException(host) : new UnknownHostException(host);
+    }
+
+    private boolean isResolved() {
+      return addresses != null;
+    }
+
+    private boolean isExpired(Instant now) {
+      return !now.isBefore(expiresAt);
+    }
+
+    private boolean wasUsedSince(Instant instant) {
+      return !lastUsed.isBefore(instant);
+    }
+
+    private boolean claim() {
+      return refreshing.compareAndSet(false, true);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+public interface NameResolver {
+
+  InetAddress[] resolve(String host) throws UnknownHostException;
+
+  // Resolves on the calling thread; resolvers that can look names up elsewhere override it.
+  default CompletableFuture<InetAddress[]> resolveAsync(String host) {
+    try {
+      return completedFuture(resolve(host));
+    } catch (UnknownHostException e) {
+      return failedFuture(e);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import java.net.UnknownHostException;
+
+// The DNS answered that the name does not exist (NXDOMAIN), rather than failing to answer.
+public class NoSuchHostException extends UnknownHostException {
+
+  public NoSuchHostException(String host) {
+    super(host);
+  }
+}
@@ -0,0 +1,85 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Security;
+import java.time.Duration;
+import java.util.Hashtable;
+
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Resolves through the JVM, so every answer also lands in the cache HttpClient resolves through.
+ * The JVM can't tell a name that doesn't exist from a server that didn't answer, so when a name
+ * fails the DNS is asked directly, and only a confirmed NXDOMAIN becomes a NoSuchHostException.
+ */
+public class SystemNameResolver implements NameResolver {
+
+  private static final Duration DEFAULT_CACHE_TTL = ofSeconds(30);
+  private final Hashtable<String, String> dns = new Hashtable<>();
+
+  public SystemNameResolver() {
+    this("");
+  }
+
+  // An empty server asks the ones the system is configured with.
+  public SystemNameResolver(String server) {
+    dns.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+    if (!server.isEmpty()) {
+      dns.put(Context.PROVIDER_URL, "dns://" + server);
+    }
+  }
+
+  @Override
+  public InetAddress[] resolve(String host) throws UnknownHostException {
+    try {
+      return InetAddress.getAllByName(host);
+    } catch (UnknownHostException e) {
+      if (isNxDomain(host)) {
+        throw new NoSuchHostException(host);
+      }
+      throw e;
+    }
+  }
+
+  // How long the JVM keeps a name that resolved, or 30s when that is unset or unbounded.
+  public static Duration cacheTtl() {
+    final String security = Security.getProperty("networkaddress.cache.ttl");
+    final String ttl = security == null ? System.getProperty("sun.net.inetaddr.ttl") : security;
+    try {
+      final int seconds = ttl == null ? -1 : Integer.parseInt(ttl.trim());
+      return seconds < 0 ? DEFAULT_CACHE_TTL : ofSeconds(seconds);
+    } catch (NumberFormatException e) {
+      return DEFAULT_CACHE_TTL;
+    }
+  }
+
+  private boolean isNxDomain(String host) {
+    DirContext context = null;
+    try {
+      context = new InitialDirContext(dns);
+      context.getAttributes(host, new String[] {"A"});
+      return false;
+    } catch (NameNotFoundException e) {
+      return true;
+    } catch (NamingException e) {
+      return false;
+    } finally {
+      close(context);
+    }
+  }
+
+  private static void close(DirContext context) {
+    if (context != null) {
+      try {
+        context.close();
+      } catch (NamingException ignored) {
+      }
+    }
+  }
+}
@@ -1,23 +1,45 @@
 package com.alexmoleiro.healthchecker.client;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
 import com.alexmoleiro.healthchecker.service.HealthCheckerClient;
+import com.alexmoleiro.healthchecker.service.HttpClientPool;
+import com.alexmoleiro.healthchecker.service.PhaseTimer;
+import com.alexmoleiro.healthchecker.service.RedirectCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.permanentRedirect;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
+import static com.alexmoleiro.healthchecker.service.ProbeMethod.GET;
+import static com.alexmoleiro.healthchecker.service.ProbeMethod.HEAD_THEN_GET;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static java.lang.System.nanoTime;
+import static java.net.http.HttpClient.Redirect.ALWAYS;
 import static java.net.http.HttpClient.newBuilder;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofNanos;
 import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 import static org.springframework.http.HttpStatus.OK;
 
 @ExtendWith(SpringExtension.class)
@@ -36,4 +58,179 @@ public class HttpClientTest {
     verify(getRequestedFor(urlMatching("/log")));
   }
 
+  @Test
+  void shouldGiveUpOnTheTimeoutOfTheCheck() {
+
+    stubFor(get(urlEqualTo("/hung")).willReturn(aResponse().withStatus(OK.value()).withFixedDelay(1000)));
+
+    final HealthCheckResponse response = new HealthCheckerClient(client, ofSeconds(2))
+        .check(new HttpUrl("http://localhost:8765/hung"), ofMillis(200));
+
+    assertThat(response.getStatus()).isEqualTo(GATEWAY_TIMEOUT.value());
+    assertThat(response.getDelay()).isLessThan(1000);
+  }
+
+  @Test
+  void shouldProbeWithHeadWhenTheSiteSupportsIt() {
+
+    stubFor(head(urlEqualTo("/head")).willReturn(aResponse().withStatus(OK.value())));
+
+    final HealthCheckerClient healthCheckerClient =
+        new HealthCheckerClient(client, ofSeconds(2), HEAD_THEN_GET);
+    healthCheckerClient.check(new HttpUrl("http://localhost:8765/head"));
+    healthCheckerClient.check(new HttpUrl("http://localhost:8765/head"));
+
+    verify(2, headRequestedFor(urlEqualTo("/head")));
+    verify(0, getRequestedFor(urlEqualTo("/head")));
+  }
+
+  @Test
+  void shouldFallBackToGetAndRememberIt() {
+
+    stubFor(head(urlEqualTo("/get")).willReturn(aResponse().withStatus(METHOD_NOT_ALLOWED.value())));
+    stubFor(get(urlEqualTo("/get")).willReturn(aResponse().withStatus(OK.value())));
+
+    final HealthCheckerClient healthCheckerClient =
+        new HealthCheckerClient(client, ofSeconds(2), HEAD_THEN_GET);
+    final int first = healthCheckerClient.check(new HttpUrl("http://localhost:8765/get")).getStatus();
+    final int second =
+        healthCheckerClient.checkAsync(new HttpUrl("http://localhost:8765/get")).join().getStatus();
+
+    assertThat(first).isEqualTo(OK.value());
+    assertThat(second).isEqualTo(OK.value());
+    verify(1, headRequestedFor(urlEqualTo("/get")));
+    verify(2, getRequestedFor(urlEqualTo("/get")));
+  }
+
+  @Test
+  void shouldBreakDownTheCheckTime() {
+
+    stubFor(
+        get(urlEqualTo("/slow"))
+            .willReturn(aResponse().withStatus(OK.value()).withFixedDelay(200)));
+
+    final HealthCheckResponse response =
+        new HealthCheckerClient(client, ofSeconds(2), GET, new PhaseTimer(true, ofSeconds(2), Runnable::run))
+            .check(new HttpUrl("http://localhost:8765/slow"));
+
+    final CheckTimings timings = response.getTimings().get();
+    assertThat(timings.getDns()).isPresent();
+    assertThat(timings.getConnect()).isPresent();
+    assertThat(timings.getTls()).isEmpty();
+    assertThat(timings.getTtfb().get()).isBetween(ofMillis(200), ofMillis(response.getDelay() + 1));
+  }
+
+  @Test
+  void shouldTimeThePhasesOfAsyncChecksOnTheGivenExecutor() {
+
+    stubFor(get(urlEqualTo("/phases")).willReturn(aResponse().withStatus(OK.value())));
+    final AtomicInteger measured = new AtomicInteger();
+    final Executor executor =
+        command -> {
+          measured.incrementAndGet();
+          new Thread(command).start();
+        };
+
+    final HealthCheckResponse response =
+        new HealthCheckerClient(client, ofSeconds(2), GET, new PhaseTimer(true, ofSeconds(2), executor))
+            .checkAsync(new HttpUrl("http://localhost:8765/phases"))
+            .join();
+
+    assertThat(measured.get()).isEqualTo(1);
+    assertThat(response.getTimings().get().getConnect()).isPresent();
+  }
+
+  @Test
+  void shouldGoStraightToTheEndOfKnownRedirects() {
+
+    stubFor(get(urlEqualTo("/old")).willReturn(permanentRedirect("/new")));
+    stubFor(get(urlEqualTo("/new")).willReturn(aResponse().withStatus(OK.value())));
+
+    final RedirectCache redirects = new RedirectCache(2);
+    final HealthCheckerClient healthCheckerClient = redirectingClient(redirects);
+    final HttpUrl old = new HttpUrl("http://localhost:8765/old");
+
+    assertThat(healthCheckerClient.check(old).getHopsSaved()).isZero();
+    assertThat(healthCheckerClient.check(old).getHopsSaved()).isEqualTo(1);
+    assertThat(healthCheckerClient.checkAsync(old).join().getHopsSaved()).isEqualTo(1);
+    assertThat(healthCheckerClient.check(old).getHopsSaved()).isZero();
+
+    verify(2, getRequestedFor(urlEqualTo("/old")));
+    verify(4, getRequestedFor(urlEqualTo("/new")));
+    assertThat(redirects.getHopsSaved()).isEqualTo(2);
+    assertThat(redirects.getRevalidations()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldWalkTheRedirectsAgainWhenTheTargetFails() {
+
+    stubFor(get(urlEqualTo("/moved")).willReturn(permanentRedirect("/target")));
+    stubFor(get(urlEqualTo("/target")).willReturn(aResponse().withStatus(OK.value())));
+
+    final RedirectCache redirects = new RedirectCache(10);
+    final HealthCheckerClient healthCheckerClient = redirectingClient(redirects);
+    final HttpUrl moved = new HttpUrl("http://localhost:8765/moved");
+    healthCheckerClient.check(moved);
+
+    stubFor(get(urlEqualTo("/target")).willReturn(aResponse().withStatus(INTERNAL_SERVER_ERROR.value())));
+
+    assertThat(healthCheckerClient.check(moved).getStatus()).isEqualTo(INTERNAL_SERVER_ERROR.value());
+    verify(2, getRequestedFor(urlEqualTo("/moved")));
+    assertThat(redirects.getSize()).isZero();
+  }
+
+  @Test
+  void shouldReportATimeoutOfTheShortcutWithoutWalkingTheRedirectsAgain() {
+
+    stubFor(get(urlEqualTo("/parked")).willReturn(permanentRedirect("/stalled")));
+    stubFor(get(urlEqualTo("/stalled")).willReturn(aResponse().withStatus(OK.value())));
+
+    final RedirectCache redirects = new RedirectCache(10);
+    final HealthCheckerClient healthCheckerClient = redirectingClient(redirects);
+    final HttpUrl parked = new HttpUrl("http://localhost:8765/parked");
+    healthCheckerClient.check(parked);
+
+    stubFor(get(urlEqualTo("/stalled")).willReturn(aResponse().withStatus(OK.value()).withFixedDelay(3000)));
+
+    final HealthCheckResponse response = healthCheckerClient.checkAsync(parked).join();
+    assertThat(response.getStatus()).isEqualTo(SERVER_TIMEOUT.value());
+    assertThat(response.getDelay()).isLessThan(3000);
+    verify(1, getRequestedFor(urlEqualTo("/parked")));
+    assertThat(redirects.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldWalkTheRedirectsAgainOnlyWithinWhatIsLeftOfTheTimeout() {
+
+    stubFor(get(urlEqualTo("/drifted")).willReturn(permanentRedirect("/drift")));
+    stubFor(get(urlEqualTo("/drift")).willReturn(aResponse().withStatus(OK.value())));
+
+    final RedirectCache redirects = new RedirectCache(10);
+    final HealthCheckerClient healthCheckerClient = redirectingClient(redirects);
+    final HttpUrl drifted = new HttpUrl("http://localhost:8765/drifted");
+    healthCheckerClient.check(drifted);
+
+    stubFor(get(urlEqualTo("/drift")).inScenario("drift").whenScenarioStateIs(STARTED)
+        .willReturn(aResponse().withStatus(INTERNAL_SERVER_ERROR.value()).withFixedDelay(1500))
+        .willSetStateTo("slow"));
+    stubFor(get(urlEqualTo("/drift")).inScenario("drift").whenScenarioStateIs("slow")
+        .willReturn(aResponse().withStatus(OK.value()).withFixedDelay(1000)));
+
+    final long start = nanoTime();
+    final HealthCheckResponse response = healthCheckerClient.check(drifted);
+
+    assertThat(response.getStatus()).isEqualTo(SERVER_TIMEOUT.value());
+    assertThat(ofNanos(nanoTime() - start)).isLessThan(ofMillis(2500));
+    assertThat(response.getDelay()).isLessThan(1000);
+    verify(2, getRequestedFor(urlEqualTo("/drifted")));
+  }
+
+  private HealthCheckerClient redirectingClient(RedirectCache redirects) {
+    return new HealthCheckerClient(
+        HttpClientPool.of(newBuilder().followRedirects(ALWAYS).build()),
+        ofSeconds(2),
+        GET,
+        PhaseTimer.disabled(),
+        redirects);
+  }
 }
@@ -41,7 +41,8 @@ class EndpointTest {
             of("a.com", "a.com"),
             of("www.a.com", "a.com"),
             of("alu-etsetb.upc.es", "upc.es"),
-            of("b3.alu-etsetb.upc.es", "upc.es")
+            of("b3.alu-etsetb.upc.es", "upc.es"),
+            of("http://localhost:8765/log", "localhost")
     );
   }
 }
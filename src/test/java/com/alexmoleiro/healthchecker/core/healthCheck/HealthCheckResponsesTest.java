@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.time.temporal.ChronoUnit.MILLIS;
 import static java.util.stream.IntStream.rangeClosed;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
@@ -31,6 +34,19 @@ class HealthCheckResponsesTest {
     assertThat(healthCheckResponses.getUptime()).isEqualTo(99.65f);
   }
 
+  @Test
+  void shouldKeepTheDefaultHistoryWhenStartedWithAResponse() {
+    final LocalDateTime now = LocalDateTime.now();
+    final HealthCheckResponses responses =
+        new HealthCheckResponses(ENDPOINT, new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), now, now));
+
+    responses.addLast(new HealthCheckResponse(ENDPOINT.getHttpUrl(), FORBIDDEN.value(), now, now));
+
+    assertThat(responses.getHealthCheckResponse()).hasSize(2);
+    assertThat(responses.getHealthCheckResponse().getCapacity())
+        .isEqualTo(HealthCheckResponses.DEFAULT_CAPACITY);
+  }
+
   @Test
   void shouldCalculateAverage() {
 
@@ -52,4 +68,76 @@ class HealthCheckResponsesTest {
     assertThat(responses.getAverage())
         .isEqualTo(1003.0);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldKeepOnlyTheLatestResponsesUpToCapacity() {
+    final HealthCheckResponses responses = new HealthCheckResponses(ENDPOINT, 10, null);
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(MILLIS);
+
+    rangeClosed(1, 25).forEach(i ->
+        responses.addLast(
+            new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), now, now.plusSeconds(i))));
+
+    assertThat(responses.getHealthCheckResponse()).hasSize(10);
+    assertThat(responses.getHealthCheckResponse().getFirst().getTime()).isEqualTo(now.plusSeconds(16));
+    assertThat(responses.getHealthCheckResponse().getLast().getTime()).isEqualTo(now.plusSeconds(25));
+  }
+
+  @Test
+  void shouldDropResponsesOlderThanMaxAge() {
+    final HealthCheckResponses responses =
+        new HealthCheckResponses(ENDPOINT, 100, ofMinutes(10));
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(MILLIS);
+
+    rangeClosed(0, 30).forEach(i ->
+        responses.addLast(
+            new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), now, now.plusMinutes(i))));
+
+    assertThat(responses.getHealthCheckResponse()).hasSize(11);
+    assertThat(responses.getHealthCheckResponse().getFirst().getTime()).isEqualTo(now.plusMinutes(20));
+  }
+
+  @Test
+  void shouldRebuildStoredResponsesFromTheirColumns() {
+    final HealthCheckResponses responses = new HealthCheckResponses(ENDPOINT, 3, null);
+    final LocalDateTime time = LocalDateTime.of(2020, 12, 8, 23, 20);
+    final HttpUrl redirected = new HttpUrl("https://as.com");
+
+    responses.addLast(
+        new HealthCheckResponse(redirected, FORBIDDEN.value(), ofMillis(120), time, null)
+            .withTimeout(ofMillis(2000)));
+    final HealthCheckResponse last =
+        new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), time, time.plusSeconds(1));
+    responses.addLast(last);
+
+    final HealthCheckResponse first = responses.getHealthCheckResponse().getFirst();
+    assertThat(first.getUrl()).isEqualTo("https://as.com");
+    assertThat(first.getStatus()).isEqualTo(FORBIDDEN.value());
+    assertThat(first.getDelay()).isEqualTo(120);
+    assertThat(first.getTime()).isEqualTo(time);
+    assertThat(first.getTimeout()).contains(ofMillis(2000));
+    assertThat(responses.getHealthCheckResponse().getLast()).isSameAs(last);
+  }
+
+  @Test
+  void shouldKeepUptimeAndAverageOfTheRetainedResponsesOnly() {
+    final HealthCheckResponses responses = new HealthCheckResponses(ENDPOINT, 4, null);
+    final LocalDateTime now = LocalDateTime.now();
+
+    rangeClosed(1, 4).forEach(i ->
+        responses.addLast(
+            new HealthCheckResponse(ENDPOINT.getHttpUrl(), FORBIDDEN.value(), ofMillis(5000), now, null)));
+    rangeClosed(1, 3).forEach(i ->
+        responses.addLast(
+            new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), ofMillis(100), now, null)));
+
+    assertThat(responses.getUptime()).isEqualTo(75f);
+    assertThat(responses.getAverage()).isEqualTo(1325.0);
+
+    responses.addLast(
+        new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), ofMillis(100), now, null));
+
+    assertThat(responses.getUptime()).isEqualTo(100f);
+    assertThat(responses.getAverage()).isEqualTo(100.0);
+  }
+}
@@ -0,0 +1,95 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.time.Duration.ofMillis;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.OK;
+
+class ResponseSeriesTest {
+
+  private static final HttpUrl URL = new HttpUrl("https://www.as.com");
+  private static final LocalDateTime TIME = LocalDateTime.of(2020, 12, 8, 23, 20);
+
+  @Test
+  void shouldRebuildTheTimingsHopsAndAttemptsOfOlderPoints() {
+    final ResponseSeries series = new ResponseSeries(20);
+    final List<CheckAttempt> attempts =
+        List.of(new CheckAttempt(1, GATEWAY_TIMEOUT.value(), 2000, false),
+            new CheckAttempt(2, OK.value(), 300, false));
+    series.addLast(
+        new HealthCheckResponse(
+                URL,
+                OK.value(),
+                ofMillis(300),
+                TIME,
+                new CheckTimings(ofMillis(5), ofMillis(20), null, ofMillis(250)),
+                2)
+            .withAttempts(attempts));
+    range(0, 10).forEach(i -> series.addLast(plain(TIME.plusMinutes(i + 1))));
+
+    final HealthCheckResponse first = series.getFirst();
+    assertThat(first.getTimings()).isPresent();
+    assertThat(first.getTimings().get().getDns()).contains(ofMillis(5));
+    assertThat(first.getTimings().get().getConnect()).contains(ofMillis(20));
+    assertThat(first.getTimings().get().getTls()).isEmpty();
+    assertThat(first.getTimings().get().getTtfb()).contains(ofMillis(250));
+    assertThat(first.getHopsSaved()).isEqualTo(2);
+    assertThat(first.getAttempts()).isEqualTo(attempts);
+
+    final HealthCheckResponse second = series.latest(10).getFirst();
+    assertThat(second.getTimings()).isEmpty();
+    assertThat(second.getAttempts()).isEmpty();
+    assertThat(series.latest(11).getFirst().getAttempts()).isEqualTo(attempts);
+  }
+
+  @Test
+  void shouldForgetTheAttemptsOfAnEvictedPoint() {
+    final ResponseSeries series = new ResponseSeries(2);
+    series.addLast(
+        plain(TIME).withAttempts(List.of(new CheckAttempt(1, GATEWAY_TIMEOUT.value(), 2000, false),
+            new CheckAttempt(2, OK.value(), 300, false))));
+    series.addLast(plain(TIME.plusMinutes(1)));
+    series.addLast(plain(TIME.plusMinutes(2)));
+
+    assertThat(series.getFirst().getAttempts()).isEmpty();
+  }
+
+  @Test
+  void shouldReuseTheUrlsOfEvictedPoints() {
+    final ResponseSeries series = new ResponseSeries(2);
+
+    range(0, Short.MAX_VALUE + 100).forEach(i ->
+        series.addLast(
+            new HealthCheckResponse(
+                new HttpUrl("https://www.site" + i + ".com"), OK.value(), ofMillis(1), TIME, null)));
+
+    assertThat(series.getFirst().getUrl())
+        .isEqualTo("https://www.site" + (Short.MAX_VALUE + 98) + ".com");
+  }
+
+  @Test
+  void shouldNotAllocatePhaseColumnsForChecksThatOnlyTimeTheFirstByte() {
+    final ResponseSeries series = new ResponseSeries(20);
+    range(0, 10).forEach(i -> series.addLast(
+        new HealthCheckResponse(
+            URL, OK.value(), ofMillis(100), TIME.plusMinutes(i), CheckTimings.none().withTtfb(ofMillis(i)))));
+    series.addLast(plain(TIME.plusMinutes(10)));
+
+    assertThat(series.hasPhaseColumns()).isFalse();
+    assertThat(series.getFirst().getTimings()).isPresent();
+    assertThat(series.getFirst().getTimings().get().getTtfb()).contains(ofMillis(0));
+    assertThat(series.getFirst().getTimings().get().getDns()).isEmpty();
+    assertThat(series.latest(2).getFirst().getTimings().get().getTtfb()).contains(ofMillis(9));
+    assertThat(series.latest(2).hasPhaseColumns()).isFalse();
+  }
+
+  private HealthCheckResponse plain(LocalDateTime time) {
+    return new HealthCheckResponse(URL, OK.value(), ofMillis(100), time, null);
+  }
+}
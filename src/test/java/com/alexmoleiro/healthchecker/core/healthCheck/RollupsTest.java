@@ -0,0 +1,90 @@
+package com.alexmoleiro.healthchecker.core.healthCheck;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.DAY;
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.HOUR;
+import static com.alexmoleiro.healthchecker.core.healthCheck.RollupResolution.MINUTE;
+import static java.time.LocalDateTime.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class RollupsTest {
+
+  private static final LocalDateTime MIDNIGHT = of(2020, 12, 8, 0, 0);
+
+  @Test
+  void shouldAggregateChecksIntoEveryResolution() {
+    final Rollups rollups = new Rollups(10, 10, 10);
+
+    rollups.add(MIDNIGHT.plusSeconds(10), OK.value(), 100);
+    rollups.add(MIDNIGHT.plusSeconds(40), SERVICE_UNAVAILABLE.value(), 300);
+    rollups.add(MIDNIGHT.plusMinutes(5), OK.value(), 200);
+    rollups.add(MIDNIGHT.plusHours(2), OK.value(), 400);
+
+    assertThat(rollups.get(MINUTE, MIDNIGHT, MIDNIGHT.plusDays(1)))
+        .extracting(Rollup::getStart, Rollup::getCount, Rollup::getOk, Rollup::getMinDelay, Rollup::getMaxDelay)
+        .containsExactly(
+            tuple(MIDNIGHT.plusHours(2), 1, 1, 400, 400));
+    assertThat(rollups.get(HOUR, MIDNIGHT, MIDNIGHT.plusDays(1)))
+        .extracting(Rollup::getStart, Rollup::getCount, Rollup::getOk, Rollup::getDelaySum)
+        .containsExactly(
+            tuple(MIDNIGHT, 3, 2, 600L),
+            tuple(MIDNIGHT.plusHours(2), 1, 1, 400L));
+    assertThat(rollups.get(DAY, MIDNIGHT, MIDNIGHT.plusDays(1)))
+        .extracting(Rollup::getCount, Rollup::getMinDelay, Rollup::getMaxDelay)
+        .containsExactly(tuple(4, 100, 400));
+  }
+
+  @Test
+  void shouldKeepOnlyTheLastRetainedBuckets() {
+    final Rollups rollups = new Rollups(3, 10, 10);
+
+    for (int minute = 0; minute < 5; minute++) {
+      rollups.add(MIDNIGHT.plusMinutes(minute), OK.value(), 100);
+    }
+    rollups.add(MIDNIGHT, OK.value(), 100);
+
+    final List<Rollup> minutes = rollups.get(MINUTE, MIDNIGHT, MIDNIGHT.plusHours(1));
+    assertThat(minutes)
+        .extracting(Rollup::getStart)
+        .containsExactly(MIDNIGHT.plusMinutes(2), MIDNIGHT.plusMinutes(3), MIDNIGHT.plusMinutes(4));
+    assertThat(rollups.get(HOUR, MIDNIGHT, MIDNIGHT.plusHours(1)))
+        .extracting(Rollup::getCount)
+        .containsExactly(6);
+  }
+
+  @Test
+  void shouldReturnOnlyBucketsWithinTheRange() {
+    final Rollups rollups = new Rollups(10, 10, 10);
+
+    rollups.add(MIDNIGHT.plusDays(1), OK.value(), 100);
+    rollups.add(MIDNIGHT.plusDays(2), OK.value(), 100);
+    rollups.add(MIDNIGHT.plusDays(3), OK.value(), 100);
+
+    assertThat(rollups.get(DAY, MIDNIGHT.plusDays(2), MIDNIGHT.plusDays(2).plusHours(1)))
+        .extracting(Rollup::getStart)
+        .containsExactly(MIDNIGHT.plusDays(2));
+  }
+
+  @Test
+  void shouldKeepEveryRetainedBucketWhileTheRingGrows() {
+    final Rollups rollups = new Rollups(100, 10, 10);
+
+    for (int minute = 0; minute < 120; minute++) {
+      rollups.add(MIDNIGHT.plusMinutes(minute), OK.value(), minute);
+    }
+    rollups.add(MIDNIGHT.plusMinutes(30), OK.value(), 1000);
+
+    final List<Rollup> minutes = rollups.get(MINUTE, MIDNIGHT, MIDNIGHT.plusHours(3));
+    assertThat(minutes).hasSize(100);
+    assertThat(minutes.get(0).getStart()).isEqualTo(MIDNIGHT.plusMinutes(20));
+    assertThat(minutes.get(10).getCount()).isEqualTo(2);
+    assertThat(minutes.get(10).getMaxDelay()).isEqualTo(1000);
+  }
+}
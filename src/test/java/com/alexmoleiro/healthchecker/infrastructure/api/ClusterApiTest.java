@@ -0,0 +1,54 @@
+package com.alexmoleiro.healthchecker.infrastructure.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ClusterApiTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  void shouldRunStandaloneWithoutMembers() throws Exception {
+    this.mockMvc.perform(get("/cluster"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.standalone").value(true))
+        .andExpect(jsonPath("$.members.length()").value(0));
+  }
+
+  @Test
+  void shouldNotLetClientsChangeTheMembers() throws Exception {
+    this.mockMvc.perform(put("/cluster/members")
+        .contentType(APPLICATION_JSON)
+        .content("""
+            ["localhost:9001","localhost:9002"]"""))
+        .andExpect(status().is4xxClientError());
+
+    this.mockMvc.perform(get("/cluster"))
+        .andExpect(jsonPath("$.standalone").value(true));
+  }
+
+  @Test
+  void shouldRefuseReplicasWhenStandalone() throws Exception {
+    this.mockMvc.perform(post("/cluster/replicas")
+        .contentType(APPLICATION_JSON)
+        .content("{\"endpoints\":[{\"id\":\"x\",\"url\":\"www.a.com\",\"type\":\"DEFAULT\"}]}"))
+        .andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,145 @@
+package com.alexmoleiro.healthchecker.infrastructure.api;
+
+import com.alexmoleiro.healthchecker.HealthcheckerApplication;
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.cluster.ClusterMembership;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.DEFAULT;
+import static java.time.Duration.ofMillis;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterInstancesTest {
+
+  private final int portA = freePort();
+  private final int portB = freePort();
+  private final String members = "localhost:" + portA + ",localhost:" + portB;
+  private ConfigurableApplicationContext a;
+  private ConfigurableApplicationContext b;
+
+  @AfterEach
+  void tearDown() {
+    close(a);
+    close(b);
+  }
+
+  @Test
+  void shouldServeTheHistoryOfAnEndpointCheckedOnAnotherInstance() throws Exception {
+    a = start(portA);
+    b = start(portB);
+    awaitMembers(a, 2);
+    awaitMembers(b, 2);
+
+    final Endpoint endpoint = new Endpoint(new HttpUrl("www.only-on-a.com"), DEFAULT, null);
+    a.getBean(EndpointRepository.class).add(endpoint);
+    a.getBean(HealthCheckRepository.class)
+        .add(endpoint, new HealthCheckResponse(
+            new HttpUrl("www.only-on-a.com"), 200, ofMillis(42), LocalDateTime.now(), null));
+
+    await(() -> get(portB, "/historical/" + endpoint.getId()).contains("\"delay\":42"));
+  }
+
+  @Test
+  void shouldSplitTheEndpointsAndTakeBackTheSliceOfAnInstanceThatLeaves() throws Exception {
+    a = start(portA);
+    b = start(portB);
+    awaitMembers(a, 2);
+    awaitMembers(b, 2);
+    final Set<Endpoint> endpoints =
+        range(0, 200)
+            .mapToObj(i -> new Endpoint(new HttpUrl("www.site" + i + ".com"), DEFAULT, null))
+            .collect(toSet());
+    endpoints.forEach(a.getBean(EndpointRepository.class)::add);
+    await(() -> b.getBean(EndpointRepository.class).getAll().containsAll(endpoints));
+
+    final Set<Endpoint> ownedByA = a.getBean(ClusterMembership.class).owned(endpoints);
+    final Set<Endpoint> ownedByB = b.getBean(ClusterMembership.class).owned(endpoints);
+    assertThat(ownedByA).doesNotContainAnyElementsOf(ownedByB).isNotEmpty();
+    assertThat(ownedByB).isNotEmpty();
+    final Set<Endpoint> all = new HashSet<>(ownedByA);
+    all.addAll(ownedByB);
+    assertThat(all).isEqualTo(endpoints);
+
+    close(b);
+    awaitMembers(a, 1);
+    assertThat(a.getBean(ClusterMembership.class).owned(endpoints)).isEqualTo(endpoints);
+
+    b = start(portB);
+    awaitMembers(a, 2);
+    await(() -> b.getBean(EndpointRepository.class).getAll().containsAll(endpoints));
+    assertThat(b.getBean(ClusterMembership.class).owned(endpoints)).isEqualTo(ownedByB);
+  }
+
+  private ConfigurableApplicationContext start(int port) {
+    return new SpringApplicationBuilder(HealthcheckerApplication.class)
+        .profiles("test")
+        .run(
+            "--server.port=" + port,
+            "--cluster.members=" + members,
+            "--cluster.secret=shared",
+            "--cluster.heartbeat=200",
+            "--cron.expression=0 0 0 1 1 *");
+  }
+
+  private static void awaitMembers(ConfigurableApplicationContext context, int members) {
+    await(() -> context.getBean(ClusterMembership.class).getMembers().size() == members);
+  }
+
+  private static void await(BooleanSupplier condition) {
+    final long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private static String get(int port, String path) {
+    try {
+      return HttpClient.newHttpClient()
+          .send(
+              HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+              HttpResponse.BodyHandlers.ofString())
+          .body();
+    } catch (IOException | InterruptedException e) {
+      return "";
+    }
+  }
+
+  private static void close(ConfigurableApplicationContext context) {
+    if (context != null && context.isActive()) {
+      context.close();
+    }
+  }
+
+  private static int freePort() {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
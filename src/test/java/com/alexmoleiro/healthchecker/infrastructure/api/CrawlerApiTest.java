@@ -0,0 +1,54 @@
+package com.alexmoleiro.healthchecker.infrastructure.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CrawlerApiTest {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  void shouldReportExecutorUsage() throws Exception {
+    this.mockMvc.perform(get("/crawler"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.executor.type").value("PLATFORM"))
+        .andExpect(jsonPath("$.executor.queueDepth").isNumber())
+        .andExpect(jsonPath("$.executor.activeCount").isNumber())
+        .andExpect(jsonPath("$.inFlight").isNumber())
+        .andExpect(jsonPath("$.spreadWindow").value(800))
+        .andExpect(jsonPath("$.concurrency.adaptive").value(false))
+        .andExpect(jsonPath("$.concurrency.limit").isNumber())
+        .andExpect(jsonPath("$.concurrency.lastDecision").isString())
+        .andExpect(jsonPath("$.dns.hits").isNumber())
+        .andExpect(jsonPath("$.dns.negativeHits").isNumber())
+        .andExpect(jsonPath("$.dns.misses").isNumber())
+        .andExpect(jsonPath("$.dns.prefetched").isNumber())
+        .andExpect(jsonPath("$.dns.lookups").isNumber())
+        .andExpect(jsonPath("$.httpShards.length()").value(8))
+        .andExpect(jsonPath("$.httpShards[0].estimatedReuseRate").isNumber())
+        .andExpect(jsonPath("$.redirects.hopsSaved").isNumber())
+        .andExpect(jsonPath("$.breakers.open").isNumber())
+        .andExpect(jsonPath("$.breakers.shortCircuited").isNumber())
+        .andExpect(jsonPath("$.bulkheads[0].tier").value("FAST"))
+        .andExpect(jsonPath("$.bulkheads[1].utilization").isNumber());
+  }
+
+  @Test
+  void shouldListTrippedBreakers() throws Exception {
+    this.mockMvc.perform(get("/crawler/breakers"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$").isArray());
+  }
+}
@@ -1,9 +1,12 @@
 package com.alexmoleiro.healthchecker.infrastructure.api;
 
 
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.HealthCheckerCrawler;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -26,6 +29,8 @@ import java.util.stream.Stream;
 import static io.restassured.RestAssured.given;
 import static io.restassured.http.ContentType.JSON;
 import static java.time.LocalDateTime.of;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.params.provider.Arguments.of;
 import static org.mockito.ArgumentMatchers.any;
@@ -49,6 +54,9 @@ class HealthApiTest {
   @MockBean
   HttpClient httpClient;
 
+  @MockBean
+  HealthCheckerCrawler healthCheckerCrawler;
+
   @ParameterizedTest
   @MethodSource("urls")
   void shouldReturnHttpStatus(HttpUrl url, HttpStatus serverStatusCode) {
@@ -111,6 +119,69 @@ class HealthApiTest {
         .then().assertThat().statusCode(statusCode.value());
   }
 
+  @Test
+  void shouldStreamOneLinePerUrlOfTheBatch() {
+
+    LocalDateTime now = of(2020, 12, 10, 10, 11, 2);
+    when(healthCheckerCrawler.submit(any(Endpoint.class)))
+        .thenAnswer(invocation -> completedFuture(new HealthCheckResponse(
+            invocation.getArgument(0, Endpoint.class).getHttpUrl(), OK.value(), now, now)));
+
+    final String body = given()
+        .contentType(JSON)
+        .body("""
+            {"urls":["http://www.a.com","http://www.b.com"]}""")
+        .post("http://localhost:%d/status/batch".formatted(port))
+        .then().assertThat().statusCode(200).contentType("application/x-ndjson")
+        .extract().asString();
+
+    assertThat(body.lines()).containsExactlyInAnyOrder(
+        """
+        {"status":200,"url":"http://www.a.com","delay":0}""",
+        """
+        {"status":200,"url":"http://www.b.com","delay":0}""");
+  }
+
+  @Test
+  void shouldFrameTheBatchAsServerSentEvents() {
+
+    LocalDateTime now = of(2020, 12, 10, 10, 11, 2);
+    when(healthCheckerCrawler.submit(any(Endpoint.class)))
+        .thenReturn(completedFuture(
+            new HealthCheckResponse(new HttpUrl("http://www.a.com"), OK.value(), now, now)));
+
+    given()
+        .contentType(JSON)
+        .accept("text/event-stream")
+        .body("""
+            {"urls":["http://www.a.com"]}""")
+        .post("http://localhost:%d/status/batch".formatted(port))
+        .then().assertThat().statusCode(200).body(equalTo("""
+        data:{"status":200,"url":"http://www.a.com","delay":0}
+
+        """));
+  }
+
+  @Test
+  void shouldRejectBatchesWithInvalidUrls() {
+    given()
+        .contentType(JSON)
+        .body("""
+            {"urls":["http://www.a.com","ftps://hola"]}""")
+        .post("http://localhost:%d/status/batch".formatted(port))
+        .then().assertThat().statusCode(BAD_REQUEST.value());
+  }
+
+  @Test
+  void shouldRejectBatchesWithoutUrls() {
+    given()
+        .contentType(JSON)
+        .body("""
+            {"concurrency":2}""")
+        .post("http://localhost:%d/status/batch".formatted(port))
+        .then().assertThat().statusCode(BAD_REQUEST.value());
+  }
+
   private static Stream<Arguments> cases() {
     return Stream.of(
         of(OK, new SSLHandshakeException("")),
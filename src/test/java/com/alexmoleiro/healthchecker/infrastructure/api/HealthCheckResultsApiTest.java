@@ -1,5 +1,6 @@
 package com.alexmoleiro.healthchecker.infrastructure.api;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckTimings;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
+import static java.time.Duration.ofMillis;
 import static java.time.LocalDateTime.of;
 import static java.time.Month.DECEMBER;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -70,6 +72,33 @@ public class HealthCheckResultsApiTest {
                         ]"""));
     }
 
+    @Test
+    void shouldReturnTimingBreakdown() throws Exception {
+
+        healthCheckRepository.deleteAll();
+        Endpoint endpointA = new Endpoint(new HttpUrl("www.a.com"));
+
+        endpointRepository.add(endpointA);
+
+        healthCheckRepository.add(
+                endpointA,
+                new HealthCheckResponse(
+                        new HttpUrl(URL_STRING),
+                        OK.value(),
+                        ofMillis(180),
+                        FIRST,
+                        new CheckTimings(ofMillis(20), ofMillis(30), ofMillis(60), ofMillis(150)))
+        );
+
+        this.mockMvc.perform(get("/historical/" + endpointA.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [
+                        {"url":"https://www.a.com","delay":180,"status":200,"time":"2020-12-08T23:20",
+                        "timings":{"sideConnection":{"dns":20,"connect":30,"tls":60},"ttfb":150}}
+                        ]"""));
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoEndpointIsFound() throws Exception {
 
@@ -112,4 +141,37 @@ public class HealthCheckResultsApiTest {
                                 endpointZ.getId(), endpointZ.getGroup(),
                         endpointX.getId(), endpointX.getGroup() )));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnRollupsForARange() throws Exception {
+
+        healthCheckRepository.deleteAll();
+        Endpoint endpointA = new Endpoint(new HttpUrl("www.a.com"));
+
+        endpointRepository.add(endpointA);
+
+        healthCheckRepository.add(
+                endpointA,
+                new HealthCheckResponse(new HttpUrl(URL_STRING), OK.value(), ofMillis(100), FIRST, null)
+        );
+        healthCheckRepository.add(
+                endpointA,
+                new HealthCheckResponse(new HttpUrl(URL_STRING), INTERNAL_SERVER_ERROR.value(), ofMillis(300), SECOND, null)
+        );
+        healthCheckRepository.add(
+                endpointA,
+                new HealthCheckResponse(new HttpUrl(URL_STRING), OK.value(), ofMillis(200), SECOND.plusHours(1), null)
+        );
+
+        this.mockMvc.perform(get("/historical/" + endpointA.getId() + "/rollups")
+                        .param("resolution", "HOUR")
+                        .param("from", "2020-12-08T00:00:00")
+                        .param("to", "2020-12-09T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"resolution":"HOUR","count":3,"uptime":66.67,"average":200,"buckets":[
+                        {"start":"2020-12-08T23:00","count":2,"uptime":50,"average":200,"min":100,"max":300},
+                        {"start":"2020-12-09T00:00","count":1,"uptime":100,"average":200,"min":200,"max":200}
+                        ]}"""));
+    }
+}
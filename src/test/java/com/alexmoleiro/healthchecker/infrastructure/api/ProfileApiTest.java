@@ -20,10 +20,12 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.MAXIMUM_ENDPOINT_PER_USER_EXCEEDED;
+import static java.time.Duration.ofSeconds;
 import static java.time.LocalDateTime.of;
 import static java.time.Month.NOVEMBER;
 import static java.util.UUID.randomUUID;
@@ -80,6 +82,24 @@ class ProfileApiTest {
         .isEqualTo(Set.of(new Endpoint(new HttpUrl("https://www.c.com"))));
     }
 
+  @Test
+  void shouldAddDomainWithItsOwnCheckInterval() throws Exception {
+    User user = createUser();
+    when(oauthService.getUser(anyString())).thenReturn(user);
+
+    this.mockMvc.perform(
+        post("/profile/addurl")
+            .header("Token", A_TOKEN)
+            .contentType(APPLICATION_JSON)
+            .content("""
+        {"url":"https://www.d.com","interval":60}"""))
+        .andExpect(status().isCreated());
+
+    assertThat(profileRepository.get(user).get().getFollowing())
+        .extracting(Endpoint::getCheckInterval)
+        .containsOnly(Optional.of(ofSeconds(60)));
+  }
+
   @Test
   void shouldReturn701() throws Exception {
 
@@ -5,16 +5,30 @@ import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponses;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.core.healthCheck.ResponseSeries;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.DEFAULT;
+import static java.time.Duration.ofMillis;
 import static java.time.LocalDateTime.now;
 import static java.util.List.of;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 class HealthChecksInMemoryTest {
 
@@ -104,4 +118,86 @@ class HealthChecksInMemoryTest {
                 .containsOnly(httpUrlE, httpWithoutResults);
     }
 
+
+    @Test
+    void shouldFindTheLastResponseByUrlWhateverEndpointItWasRecordedUnder() {
+        final HealthCheckResponse response =
+                new HealthCheckResponse(new HttpUrl(A_URL), OK.value(), now(), now());
+
+        healthCheckResultsInMemory.add(new Endpoint(new HttpUrl(A_URL)), response);
+
+        assertThat(healthCheckResultsInMemory.getLastResponse(new HttpUrl(A_URL))).contains(response);
+        assertThat(healthCheckResultsInMemory.getLastResponse(new HttpUrl("https://www.b.com")))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldKeepEveryResponseWhenWritersAndReadersRunConcurrently() throws Exception {
+        final HealthChecksInMemory repository = new HealthChecksInMemory(100_000, null);
+        final List<Endpoint> endpoints = IntStream.range(0, 4)
+                .mapToObj(i -> new Endpoint(new HttpUrl("https://www.site" + i + ".com")))
+                .collect(toList());
+        final int writers = 8;
+        final int checksPerWriter = 5_000;
+        final ExecutorService executor = newFixedThreadPool(writers + 4);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final Queue<String> inconsistencies = new ConcurrentLinkedQueue<>();
+
+        final List<Future<?>> writes = IntStream.range(0, writers)
+                .mapToObj(writer -> executor.submit(() -> {
+                    start.await();
+                    final LocalDateTime time = now();
+                    for (int i = 0; i < checksPerWriter; i++) {
+                        final Endpoint endpoint = endpoints.get(i % endpoints.size());
+                        final boolean up = i / endpoints.size() % 2 == 0;
+                        repository.add(endpoint, new HealthCheckResponse(
+                                endpoint.getHttpUrl(),
+                                up ? OK.value() : SERVICE_UNAVAILABLE.value(),
+                                ofMillis(up ? 100 : 5000),
+                                time,
+                                null));
+                    }
+                    return null;
+                }))
+                .collect(toList());
+        final List<Future<?>> reads = IntStream.range(0, 4)
+                .mapToObj(reader -> executor.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        for (HealthCheckResponses responses : repository.getResponses(DEFAULT)) {
+                            final ResponseSeries snapshot = responses.getHealthCheckResponse();
+                            for (int i = 0; i < snapshot.size(); i++) {
+                                if ((snapshot.statusAt(i) == OK.value()) != (snapshot.delayAt(i) == 100)) {
+                                    inconsistencies.add(snapshot.statusAt(i) + "/" + snapshot.delayAt(i));
+                                }
+                            }
+                            responses.getUptime();
+                            responses.getAverage();
+                        }
+                    }
+                    return null;
+                }))
+                .collect(toList());
+
+        start.countDown();
+        for (Future<?> write : writes) {
+            write.get(30, SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> read : reads) {
+            read.get(30, SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(inconsistencies).isEmpty();
+        assertThat(repository.getResponses(DEFAULT))
+                .hasSize(endpoints.size())
+                .allSatisfy(responses -> {
+                    assertThat(responses.getHealthCheckResponse())
+                            .hasSize(writers * checksPerWriter / endpoints.size());
+                    assertThat(responses.getUptime()).isEqualTo(50f);
+                    assertThat(responses.getAverage()).isEqualTo(2550.0);
+                });
+    }
 }
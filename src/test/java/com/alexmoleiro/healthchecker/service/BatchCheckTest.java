@@ -0,0 +1,102 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.time.LocalDateTime.now;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.OK;
+
+class BatchCheckTest {
+
+  private final HttpUrl a = new HttpUrl("www.a.com");
+  private final HttpUrl b = new HttpUrl("www.b.com");
+  private final HttpUrl c = new HttpUrl("www.c.com");
+
+  @Test
+  void shouldHandOutResultsInCompletionOrder() throws InterruptedException {
+    final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+    final CompletableFuture<HealthCheckResponse> slow = new CompletableFuture<>();
+    final HealthCheckResponse first = ok(b);
+    final HealthCheckResponse second = ok(a);
+    when(crawler.submit(any(Endpoint.class))).thenReturn(slow);
+    when(crawler.submit(argThat(endpoint -> endpoint.getHttpUrl() == b)))
+        .thenReturn(completedFuture(first));
+
+    final BatchCheck batch = new BatchCheck(crawler, List.of(a, b), 2, ofSeconds(2));
+
+    assertThat(batch.take()).containsSame(first);
+    slow.complete(second);
+    assertThat(batch.take()).containsSame(second);
+    assertThat(batch.isDone()).isTrue();
+  }
+
+  @Test
+  void shouldNotSubmitMoreThanTheConcurrency() {
+    final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+    when(crawler.submit(any(Endpoint.class))).thenReturn(new CompletableFuture<>());
+
+    new BatchCheck(crawler, List.of(a, b, c), 2, ofSeconds(2));
+
+    verify(crawler, times(2)).submit(any(Endpoint.class));
+  }
+
+  @Test
+  void shouldReportUnansweredUrlsAsTimeoutsAtTheDeadline() throws InterruptedException {
+    final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+    when(crawler.submit(any(Endpoint.class))).thenReturn(new CompletableFuture<>());
+
+    final BatchCheck batch = new BatchCheck(crawler, List.of(a, b, c), 1, ofMillis(50));
+
+    assertThat(batch.take()).isEmpty();
+    final List<HealthCheckResponse> expired = batch.expire();
+    assertThat(expired).extracting(HealthCheckResponse::getStatus).containsOnly(GATEWAY_TIMEOUT.value());
+    assertThat(expired).hasSize(3);
+    assertThat(batch.isDone()).isTrue();
+  }
+
+  @Test
+  void shouldCancelThePendingChecksWhenTheBatchExpires() {
+    final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+    final CompletableFuture<HealthCheckResponse> pending = new CompletableFuture<>();
+    when(crawler.submit(any(Endpoint.class))).thenReturn(pending);
+
+    new BatchCheck(crawler, List.of(a, b), 1, ofMillis(50)).expire();
+
+    assertThat(pending).isCancelled();
+    verify(crawler, times(1)).submit(any(Endpoint.class));
+  }
+
+  @Test
+  void shouldCancelThePendingChecksOfAnAbandonedBatch() {
+    final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+    final CompletableFuture<HealthCheckResponse> pending = new CompletableFuture<>();
+    when(crawler.submit(any(Endpoint.class))).thenReturn(pending);
+
+    final BatchCheck batch = new BatchCheck(crawler, List.of(a, b), 1, ofSeconds(2));
+    batch.cancel();
+
+    assertThat(pending).isCancelled();
+    assertThat(batch.isDone()).isTrue();
+    verify(crawler, times(1)).submit(any(Endpoint.class));
+  }
+
+  private HealthCheckResponse ok(HttpUrl url) {
+    return new HealthCheckResponse(url, OK.value(), now(), now());
+  }
+}
@@ -0,0 +1,109 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.CACHED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.PROBED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.RECORDED;
+import static java.time.Clock.systemUTC;
+import static java.time.Duration.ofSeconds;
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+
+class CoalescingHealthCheckerTest {
+
+  private final HttpUrl url = new HttpUrl("www.a.com");
+  private final HealthChecker healthChecker = mock(HealthChecker.class);
+  private final HealthCheckRepository healthCheckRepository = new HealthChecksInMemory();
+  private final CoalescingHealthChecker coalescingHealthChecker =
+      new CoalescingHealthChecker(healthChecker, healthCheckRepository, ofSeconds(30));
+
+  @Test
+  void shouldShareOneProbeBetweenConcurrentChecks() {
+    final CompletableFuture<HealthCheckResponse> probe = new CompletableFuture<>();
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(probe);
+
+    final CompletableFuture<HealthCheckResponse> first = coalescingHealthChecker.checkAsync(url);
+    final CompletableFuture<HealthCheckResponse> second = coalescingHealthChecker.checkAsync(url);
+    probe.complete(responseAt(now(systemUTC())));
+
+    assertThat(first.join()).isSameAs(second.join());
+    assertThat(coalescingHealthChecker.getCoalesced()).isEqualTo(1);
+    verify(healthChecker, times(1)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldServeRecentResultsFromCache() {
+    when(healthChecker.check(any(HttpUrl.class))).thenReturn(responseAt(now(systemUTC())));
+
+    final HealthCheckResponse first = coalescingHealthChecker.check(url);
+    final HealthCheckResponse second = coalescingHealthChecker.check(url);
+
+    assertThat(second).isSameAs(first);
+    assertThat(coalescingHealthChecker.getHits()).isEqualTo(1);
+    verify(healthChecker, times(1)).check(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldServeWhatTheCrawlerJustRecorded() {
+    final HealthCheckResponse crawled = responseAt(now(systemUTC()).minusSeconds(10));
+    healthCheckRepository.add(new Endpoint(url), crawled);
+
+    assertThat(coalescingHealthChecker.check(url)).isSameAs(crawled);
+    verify(healthChecker, never()).check(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldReportWhereEachResultCameFrom() {
+    when(healthChecker.check(any(HttpUrl.class))).thenReturn(responseAt(now(systemUTC())));
+
+    assertThat(coalescingHealthChecker.checkWithSource(url).getSource()).isEqualTo(PROBED);
+    assertThat(coalescingHealthChecker.checkWithSource(url).getSource()).isEqualTo(CACHED);
+
+    healthCheckRepository.add(new Endpoint(url), coalescingHealthChecker.check(url));
+
+    assertThat(coalescingHealthChecker.checkWithSource(url).getSource()).isEqualTo(RECORDED);
+  }
+
+  @Test
+  void shouldCheckAgainOnceTheResultIsTooOld() {
+    healthCheckRepository.add(new Endpoint(url), responseAt(now(systemUTC()).minusSeconds(31)));
+    when(healthChecker.check(any(HttpUrl.class))).thenReturn(responseAt(now(systemUTC())));
+
+    coalescingHealthChecker.check(url);
+
+    verify(healthChecker, times(1)).check(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldForgetProbesOnceTheyAreOlderThanTtl() {
+    when(healthChecker.check(any(HttpUrl.class)))
+        .thenReturn(responseAt(now(systemUTC()).minusSeconds(31)))
+        .thenReturn(responseAt(now(systemUTC())));
+
+    coalescingHealthChecker.check(url);
+    coalescingHealthChecker.check(new HttpUrl("www.b.com"));
+
+    assertThat(coalescingHealthChecker.getRemembered()).isEqualTo(1);
+  }
+
+  private HealthCheckResponse responseAt(LocalDateTime time) {
+    return new HealthCheckResponse(url, OK.value(), time.minusSeconds(1), time);
+  }
+}
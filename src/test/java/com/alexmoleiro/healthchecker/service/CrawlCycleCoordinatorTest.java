@@ -0,0 +1,72 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlCycle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.alexmoleiro.healthchecker.service.crawler.OverlapPolicy.COALESCE;
+import static com.alexmoleiro.healthchecker.service.crawler.OverlapPolicy.SKIP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CrawlCycleCoordinatorTest {
+
+  private static final Set<Endpoint> ENDPOINTS = Set.of(new Endpoint(new HttpUrl("www.a.com")));
+
+  private final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+  private final CompletableFuture<CrawlCycle> firstCycle = new CompletableFuture<>();
+  private final CompletableFuture<CrawlCycle> secondCycle = new CompletableFuture<>();
+
+  @Test
+  void shouldSkipTicksWhileACycleIsRunning() {
+    when(crawler.run(anySet())).thenReturn(firstCycle, secondCycle);
+    final CrawlCycleCoordinator coordinator = new CrawlCycleCoordinator(crawler, SKIP);
+
+    coordinator.tick(() -> ENDPOINTS);
+    coordinator.tick(() -> ENDPOINTS);
+    firstCycle.complete(checked(ENDPOINTS.size()));
+
+    verify(crawler, times(1)).run(anySet());
+    assertThat(coordinator.getSkippedTicks()).isEqualTo(1);
+    assertThat(coordinator.isRunning()).isFalse();
+    assertThat(coordinator.getLastCycle().getChecked()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCoalesceTicksIntoOneCycleAfterTheRunningOne() {
+    when(crawler.run(anySet())).thenReturn(firstCycle, secondCycle);
+    final CrawlCycleCoordinator coordinator = new CrawlCycleCoordinator(crawler, COALESCE);
+
+    coordinator.tick(() -> ENDPOINTS);
+    coordinator.tick(() -> ENDPOINTS);
+    coordinator.tick(() -> ENDPOINTS);
+    verify(crawler, times(1)).run(anySet());
+
+    firstCycle.complete(checked(ENDPOINTS.size()));
+
+    verify(crawler, times(2)).run(anySet());
+    assertThat(coordinator.getCoalescedTicks()).isEqualTo(2);
+    assertThat(coordinator.isRunning()).isTrue();
+
+    secondCycle.complete(checked(ENDPOINTS.size()));
+
+    assertThat(coordinator.isRunning()).isFalse();
+    assertThat(coordinator.getCycles()).isEqualTo(2);
+  }
+
+  private CrawlCycle checked(int endpoints) {
+    final CrawlCycle cycle = new CrawlCycle(endpoints);
+    for (int i = 0; i < endpoints; i++) {
+      cycle.checked();
+    }
+    return cycle;
+  }
+}
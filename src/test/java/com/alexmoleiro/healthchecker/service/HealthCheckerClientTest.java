@@ -26,6 +26,8 @@ import java.util.stream.Stream;
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SERVER_TIMEOUT;
 import static com.alexmoleiro.healthchecker.core.healthCheck.CheckResultCode.SSL_CERTIFICATE_ERROR;
 import static java.net.URI.create;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.time.Duration.ofSeconds;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.of;
@@ -63,6 +65,33 @@ class HealthCheckerClientTest {
     assertThat(check.getStatus()).isEqualTo(statusCode);
   }
 
+  @Test
+  void shouldReturnStatusCodeAsynchronously() {
+
+    final HttpClient mock = mock(HttpClient.class);
+    final int statusCode = new Random().nextInt();
+
+    when(mock.sendAsync(any(HttpRequest.class), any(BodyHandler.class)))
+        .thenReturn(completedFuture(getHttpResponse(statusCode, URL_STRING)));
+
+    final HealthCheckResponse check =
+        new HealthCheckerClient(mock, ofSeconds(5)).checkAsync(new HttpUrl(URL_STRING)).join();
+
+    assertThat(check.getStatus()).isEqualTo(statusCode);
+  }
+
+  @ParameterizedTest
+  @MethodSource("exceptions")
+  void shouldReturnTimeoutAsynchronously(Throwable e, int statusCode) {
+    final HttpClient mock = mock(HttpClient.class);
+    when(mock.sendAsync(any(HttpRequest.class), any(BodyHandler.class))).thenReturn(failedFuture(e));
+
+    final HealthCheckResponse check =
+        new HealthCheckerClient(mock, ofSeconds(5)).checkAsync(new HttpUrl(URL_STRING)).join();
+
+    assertThat(check.getStatus()).isEqualTo(statusCode);
+  }
+
   private static Stream<Arguments> exceptions() {
     return Stream.of(
         of(new HttpTimeoutException("timeout"), SERVER_TIMEOUT.value()),
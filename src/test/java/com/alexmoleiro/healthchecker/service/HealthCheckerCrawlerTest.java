@@ -1,24 +1,67 @@
 package com.alexmoleiro.healthchecker.service;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckAttempt;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
 import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
+import com.alexmoleiro.healthchecker.service.crawler.Bulkheads;
+import com.alexmoleiro.healthchecker.service.crawler.CheckIntervals;
+import com.alexmoleiro.healthchecker.service.crawler.CircuitBreakers;
+import com.alexmoleiro.healthchecker.service.crawler.ConcurrencyLimit;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlCycle;
+import com.alexmoleiro.healthchecker.service.crawler.CrawlPriorities;
+import com.alexmoleiro.healthchecker.service.crawler.DispatchSpread;
+import com.alexmoleiro.healthchecker.service.crawler.Politeness;
+import com.alexmoleiro.healthchecker.service.crawler.RetryPolicy;
+import com.alexmoleiro.healthchecker.service.crawler.TimeoutBudget;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.HALF_OPEN;
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.OPEN;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.CHANGED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.ROUTINE;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlerMode.ASYNC;
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.FAST;
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.SLOW;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
 import static java.time.LocalDateTime.now;
 import static java.util.List.of;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.stream.Collectors.toSet;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 class HealthCheckerCrawlerTest {
 
@@ -53,4 +96,585 @@ class HealthCheckerCrawlerTest {
                   .add(any(Endpoint.class),any(HealthCheckResponse.class));
             });
   }
+
+  @Test
+  void shouldCompleteWhenEveryEndpointIsCheckedAsynchronously() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final List<String> domains = of("www.a.com", "www.b.com", "www.c.com", "www.d.es", "www.e.com");
+    Set<Endpoint> endpoints = domains.stream().map(domain -> new Endpoint(new HttpUrl(domain))).collect(toSet());
+    final int maxInFlight = 2;
+    final HttpUrl url = new HttpUrl("http://www.j.com");
+
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    HealthCheckerCrawler.builder(healthChecker, healthCheckRepository)
+        .mode(ASYNC)
+        .maxInFlight(maxInFlight)
+        .build()
+        .run(endpoints)
+        .join();
+
+    verify(healthChecker, times(domains.size())).checkAsync(any(HttpUrl.class));
+    verify(healthCheckRepository, times(domains.size()))
+        .add(any(Endpoint.class), any(HealthCheckResponse.class));
+  }
+
+  @Test
+  void shouldSkipEndpointsThatAreStillBeingChecked() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final Set<Endpoint> endpoints = Set.of(new Endpoint(new HttpUrl("www.a.com")));
+    final CompletableFuture<HealthCheckResponse> slowCheck = new CompletableFuture<>();
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(slowCheck);
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository).build();
+    final CompletableFuture<CrawlCycle> first = crawler.run(endpoints);
+    final CrawlCycle second = crawler.run(endpoints).join();
+
+    slowCheck.complete(new HealthCheckResponse(new HttpUrl("www.a.com"), OK.value(), now(), now()));
+
+    assertThat(second.getSkipped()).isEqualTo(1);
+    assertThat(first.join().getChecked()).isEqualTo(1);
+    verify(healthChecker, times(1)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldCheckOtherHostsWhileOneIsSaturated() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl home = new HttpUrl("www.amazon.com");
+    final HttpUrl books = new HttpUrl("www.amazon.com/books");
+    final HttpUrl other = new HttpUrl("www.other.com");
+    final CompletableFuture<HealthCheckResponse> slowCheck = new CompletableFuture<>();
+    final HealthCheckResponse response = new HealthCheckResponse(other, OK.value(), now(), now());
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(completedFuture(response));
+    when(healthChecker.checkAsync(argThat(url -> url.getUrl().getHost().equals("www.amazon.com"))))
+        .thenReturn(slowCheck, completedFuture(response));
+
+    final CompletableFuture<CrawlCycle> cycle =
+        asyncCrawler(healthChecker, healthCheckRepository)
+            .maxInFlight(10)
+            .politeness(new Politeness(1, 0, 0, 0))
+            .build()
+            .run(Set.of(new Endpoint(home), new Endpoint(books), new Endpoint(other)));
+
+    verify(healthChecker, timeout(TIMEOUT)).checkAsync(argThat(url -> url.equals(other)));
+    verify(healthChecker, times(1)).checkAsync(argThat(url -> url.getUrl().getHost().equals("www.amazon.com")));
+
+    slowCheck.complete(response);
+
+    assertThat(cycle.join().getChecked()).isEqualTo(3);
+    verify(healthChecker, times(3)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldRetryTimeoutsAndRecordEveryAttempt() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl url = new HttpUrl("www.a.com");
+
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(
+            completedFuture(new HealthCheckResponse(url, GATEWAY_TIMEOUT.value(), now(), now())),
+            completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler = retryingCrawler(healthChecker, healthCheckRepository, false);
+    crawler.run(Set.of(new Endpoint(url))).join();
+
+    final ArgumentCaptor<HealthCheckResponse> response = ArgumentCaptor.forClass(HealthCheckResponse.class);
+    verify(healthCheckRepository).add(any(Endpoint.class), response.capture());
+    assertThat(response.getValue().getStatus()).isEqualTo(OK.value());
+    assertThat(response.getValue().getAttempts())
+        .extracting(CheckAttempt::getStatus)
+        .containsExactly(GATEWAY_TIMEOUT.value(), OK.value());
+    assertThat(crawler.getRetries()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldHoldNoSlotWhileARetryWaitsOutItsBackoff() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final RetryPolicy retryPolicy = mock(RetryPolicy.class);
+    final HttpUrl url = new HttpUrl("www.a.com");
+
+    when(retryPolicy.shouldRetry(GATEWAY_TIMEOUT.value(), 1)).thenReturn(true);
+    when(retryPolicy.backoff(1)).thenReturn(ofMillis(500));
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(
+            completedFuture(new HealthCheckResponse(url, GATEWAY_TIMEOUT.value(), now(), now())),
+            completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository)
+        .politeness(new Politeness(1, 1, 0, 0))
+        .retryPolicy(retryPolicy)
+        .build();
+    final CompletableFuture<CrawlCycle> cycle = crawler.run(Set.of(new Endpoint(url)));
+
+    verify(healthChecker, timeout(TIMEOUT)).checkAsync(any(HttpUrl.class));
+    await(() -> crawler.getBackingOff() == 1);
+    assertThat(crawler.getInFlight()).isZero();
+    assertThat(crawler.getQueued()).isZero();
+    assertThat(cycle.join().getChecked()).isEqualTo(1);
+    assertThat(crawler.getBackingOff()).isZero();
+    verify(healthChecker, times(2)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldSkipTheHedgeWhenTheHostHasNoPermitLeft() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl slow = new HttpUrl("www.slow.com");
+    final HealthCheckResponse fast = new HealthCheckResponse(slow, OK.value(), now(), now());
+    final CompletableFuture<HealthCheckResponse> hung = new CompletableFuture<>();
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(completedFuture(fast));
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository)
+        .maxInFlight(50)
+        .politeness(new Politeness(1, 0, 0, 0))
+        .retryPolicy(new RetryPolicy(1, ofMillis(10), ofMillis(50), true))
+        .build();
+    crawler
+        .run(range(0, 20).mapToObj(i -> new Endpoint(new HttpUrl("www.a" + i + ".com"))).collect(toSet()))
+        .join();
+
+    when(healthChecker.checkAsync(argThat(url -> url == slow))).thenReturn(hung);
+    final CompletableFuture<CrawlCycle> cycle = crawler.run(Set.of(new Endpoint(slow)));
+
+    verify(healthChecker, after(300).times(1)).checkAsync(argThat(url -> url == slow));
+    assertThat(crawler.getHedges()).isZero();
+    hung.complete(fast);
+    assertThat(cycle.join().getChecked()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldKeepThePermitsOfTheSlowerOfAHedgedPairUntilItFinishes() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl slow = new HttpUrl("www.slow.com");
+    final HealthCheckResponse fast = new HealthCheckResponse(slow, OK.value(), now(), now());
+    final CompletableFuture<HealthCheckResponse> hung = new CompletableFuture<>();
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(completedFuture(fast));
+    final HealthCheckerCrawler crawler = retryingCrawler(healthChecker, healthCheckRepository, true);
+    crawler
+        .run(range(0, 20).mapToObj(i -> new Endpoint(new HttpUrl("www.a" + i + ".com"))).collect(toSet()))
+        .join();
+
+    when(healthChecker.checkAsync(argThat(url -> url == slow)))
+        .thenReturn(hung, completedFuture(fast));
+    crawler.run(Set.of(new Endpoint(slow))).join();
+
+    assertThat(crawler.getHedgeWins()).isEqualTo(1);
+    assertThat(hung.isCancelled()).isFalse();
+    await(() -> crawler.getInFlight() == 1);
+    hung.complete(fast);
+    await(() -> crawler.getInFlight() == 0);
+  }
+
+  @Test
+  void shouldKeepAHostWithinItsPolitenessWhileAHedgeIsLost() throws IOException {
+
+    final AtomicInteger concurrent = new AtomicInteger();
+    final AtomicInteger maxConcurrent = new AtomicInteger();
+    final AtomicInteger slowCalls = new AtomicInteger();
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(newCachedThreadPool());
+    server.createContext(
+        "/",
+        exchange -> {
+          maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+          final String path = exchange.getRequestURI().getPath();
+          if (path.equals("/slow") && slowCalls.incrementAndGet() == 1) {
+            sleep(1000);
+          } else if (path.startsWith("/hold")) {
+            sleep(300);
+          }
+          concurrent.decrementAndGet();
+          exchange.sendResponseHeaders(OK.value(), -1);
+          exchange.close();
+        });
+    server.start();
+    try {
+      final String host = "http://localhost:" + server.getAddress().getPort();
+      final HealthCheckerCrawler crawler =
+          asyncCrawler(new HealthCheckerClient(HttpClient.newHttpClient(), ofSeconds(5)),
+              mock(HealthCheckRepository.class))
+              .maxInFlight(50)
+              .politeness(new Politeness(2, 0, 0, 0))
+              .retryPolicy(new RetryPolicy(1, ofMillis(10), ofMillis(50), true))
+              .build();
+      crawler
+          .run(range(0, 20).mapToObj(i -> new Endpoint(new HttpUrl(host + "/a" + i))).collect(toSet()))
+          .join();
+      maxConcurrent.set(0);
+
+      crawler.run(Set.of(new Endpoint(new HttpUrl(host + "/slow")))).join();
+      crawler
+          .run(Set.of(new Endpoint(new HttpUrl(host + "/hold1")), new Endpoint(new HttpUrl(host + "/hold2"))))
+          .join();
+
+      assertThat(crawler.getHedgeWins()).isEqualTo(1);
+      assertThat(maxConcurrent.get()).isEqualTo(2);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void shouldHedgeChecksSlowerThanUsual() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl slow = new HttpUrl("www.slow.com");
+    final HealthCheckResponse fast = new HealthCheckResponse(slow, OK.value(), now(), now());
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(completedFuture(fast));
+    final HealthCheckerCrawler crawler = retryingCrawler(healthChecker, healthCheckRepository, true);
+    crawler
+        .run(range(0, 20).mapToObj(i -> new Endpoint(new HttpUrl("www.a" + i + ".com"))).collect(toSet()))
+        .join();
+
+    when(healthChecker.checkAsync(argThat(url -> url == slow)))
+        .thenReturn(new CompletableFuture<>(), completedFuture(fast));
+    final CrawlCycle cycle = crawler.run(Set.of(new Endpoint(slow))).join();
+
+    assertThat(cycle.getChecked()).isEqualTo(1);
+    assertThat(crawler.getHedges()).isEqualTo(1);
+    assertThat(crawler.getHedgeWins()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCheckOnDemandWithoutRecordingTheResult() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl url = new HttpUrl("www.a.com");
+    final HealthCheckResponse response = new HealthCheckResponse(url, OK.value(), now(), now());
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(completedFuture(response));
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository).build();
+
+    assertThat(crawler.submit(new Endpoint(url)).join().getStatus()).isEqualTo(OK.value());
+    verify(healthCheckRepository, times(0)).add(any(Endpoint.class), any(HealthCheckResponse.class));
+    assertThat(crawler.getInFlight()).isZero();
+  }
+
+  @Test
+  void shouldDropAnOnDemandCheckCancelledBeforeItStarts() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HttpUrl a = new HttpUrl("www.a.com");
+    final HttpUrl b = new HttpUrl("www.b.com");
+    final CompletableFuture<HealthCheckResponse> hung = new CompletableFuture<>();
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(hung);
+
+    final HealthCheckerCrawler crawler =
+        asyncCrawler(healthChecker, mock(HealthCheckRepository.class)).maxInFlight(1).build();
+
+    crawler.submit(new Endpoint(a));
+    crawler.submit(new Endpoint(b)).cancel(true);
+    hung.complete(new HealthCheckResponse(a, OK.value(), now(), now()));
+
+    verify(healthChecker, after(300).never()).checkAsync(b);
+    assertThat(crawler.getQueued()).isZero();
+  }
+
+  @Test
+  void shouldCheckWithTheTimeoutBudgetOfTheEndpoint() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final TimeoutBudget timeoutBudget = mock(TimeoutBudget.class);
+    final HttpUrl url = new HttpUrl("www.a.com");
+
+    when(timeoutBudget.forEndpoint(any(Endpoint.class))).thenReturn(Optional.of(ofMillis(800)));
+    when(healthChecker.checkAsync(any(HttpUrl.class), any(Duration.class)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    asyncCrawler(healthChecker, healthCheckRepository)
+        .timeoutBudget(timeoutBudget)
+        .build()
+        .run(Set.of(new Endpoint(url)))
+        .join();
+
+    verify(healthChecker).checkAsync(url, ofMillis(800));
+    final ArgumentCaptor<HealthCheckResponse> response = ArgumentCaptor.forClass(HealthCheckResponse.class);
+    verify(healthCheckRepository).add(any(Endpoint.class), response.capture());
+    assertThat(response.getValue().getTimeout()).contains(ofMillis(800));
+  }
+
+  @Test
+  void shouldRetryATimeoutWithTheCeilingOfTheBudget() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final TimeoutBudget timeoutBudget = mock(TimeoutBudget.class);
+    final HttpUrl url = new HttpUrl("www.a.com");
+
+    when(timeoutBudget.forEndpoint(any(Endpoint.class))).thenReturn(Optional.of(ofMillis(800)));
+    when(timeoutBudget.afterTimeout()).thenReturn(Optional.of(ofSeconds(25)));
+    when(healthChecker.checkAsync(url, ofMillis(800)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, GATEWAY_TIMEOUT.value(), now(), now())));
+    when(healthChecker.checkAsync(url, ofSeconds(25)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    asyncCrawler(healthChecker, healthCheckRepository)
+        .retryPolicy(new RetryPolicy(3, ofMillis(10), ofMillis(50), false))
+        .timeoutBudget(timeoutBudget)
+        .build()
+        .run(Set.of(new Endpoint(url)))
+        .join();
+
+    final ArgumentCaptor<HealthCheckResponse> response = ArgumentCaptor.forClass(HealthCheckResponse.class);
+    verify(healthCheckRepository).add(any(Endpoint.class), response.capture());
+    assertThat(response.getValue().getStatus()).isEqualTo(OK.value());
+    assertThat(response.getValue().getTimeout()).contains(ofSeconds(25));
+  }
+
+  @Test
+  void shouldCheckEndpointsThatChangedStateFirst() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final CrawlPriorities priorities = mock(CrawlPriorities.class);
+    final HttpUrl changed = new HttpUrl("www.changed.com");
+    final List<HttpUrl> checked = new CopyOnWriteArrayList<>();
+    final Set<Endpoint> endpoints =
+        range(0, 5).mapToObj(i -> new Endpoint(new HttpUrl("www.a" + i + ".com"))).collect(toSet());
+    endpoints.add(new Endpoint(changed));
+
+    when(priorities.of(any(Endpoint.class))).thenReturn(ROUTINE);
+    when(priorities.of(argThat(endpoint -> endpoint.getHttpUrl() == changed))).thenReturn(CHANGED);
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenAnswer(invocation -> {
+          checked.add(invocation.getArgument(0));
+          return completedFuture(new HealthCheckResponse(changed, OK.value(), now(), now()));
+        });
+
+    asyncCrawler(healthChecker, healthCheckRepository)
+        .maxInFlight(1)
+        .priorities(priorities)
+        .build()
+        .run(endpoints)
+        .join();
+
+    assertThat(checked).hasSize(6);
+    assertThat(checked.get(0)).isSameAs(changed);
+  }
+
+  @Test
+  void shouldRecheckASiteThatGoesDownToConfirmIt() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = new HealthChecksInMemory();
+    final HttpUrl url = new HttpUrl("www.a.com");
+
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(
+            completedFuture(new HealthCheckResponse(url, SERVICE_UNAVAILABLE.value(), now(), now())),
+            completedFuture(new HealthCheckResponse(url, OK.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository)
+        .priorities(
+            new CrawlPriorities(
+                healthCheckRepository, new CheckIntervals(ofSeconds(60), ofSeconds(60), ofSeconds(1)), 2, ofMillis(10)))
+        .build();
+    crawler.run(Set.of(new Endpoint(url))).join();
+
+    verify(healthChecker, timeout(TIMEOUT).times(2)).checkAsync(any(HttpUrl.class));
+    assertThat(crawler.getRechecks()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldAnswerForHostsWithAnOpenBreakerWithoutCheckingThem() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final HttpUrl url = new HttpUrl("www.dead.com");
+
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, SERVICE_UNAVAILABLE.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository)
+        .breakers(new CircuitBreakers(2, ofSeconds(600)))
+        .build();
+    for (int i = 0; i < 4; i++) {
+      crawler.run(Set.of(new Endpoint(url))).join();
+    }
+
+    verify(healthChecker, times(2)).checkAsync(any(HttpUrl.class));
+    verify(healthCheckRepository, times(4)).add(any(Endpoint.class), any(HealthCheckResponse.class));
+    assertThat(crawler.getBreakers().getShortCircuited()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldFreeTheBreakerProbeOfACheckCancelledWhileBackingOff() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final RetryPolicy retryPolicy = mock(RetryPolicy.class);
+    final HttpUrl url = new HttpUrl("www.dead.com");
+    final Endpoint endpoint = new Endpoint(url);
+    final CircuitBreakers breakers = new CircuitBreakers(1, ofMillis(100));
+
+    when(retryPolicy.shouldRetry(SERVICE_UNAVAILABLE.value(), 1)).thenReturn(true);
+    when(retryPolicy.backoff(1)).thenReturn(ofMillis(500));
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(completedFuture(new HealthCheckResponse(url, SERVICE_UNAVAILABLE.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, mock(HealthCheckRepository.class))
+        .retryPolicy(retryPolicy)
+        .breakers(breakers)
+        .build();
+    breakers.record(endpoint, SERVICE_UNAVAILABLE.value());
+    await(() -> breakers.getTripped().get(0).getOpenedAt().plusMillis(100).isBefore(Instant.now()));
+
+    final CompletableFuture<HealthCheckResponse> probe = crawler.submit(endpoint);
+    await(() -> crawler.getBackingOff() == 1);
+    assertThat(breakers.getTripped()).extracting(CircuitBreakers.Breaker::getState).containsExactly(HALF_OPEN);
+    probe.cancel(true);
+    await(() -> crawler.getBackingOff() == 0);
+
+    assertThat(breakers.getTripped()).extracting(CircuitBreakers.Breaker::getState).containsExactly(OPEN);
+    assertThat(breakers.allow(endpoint)).isTrue();
+    verify(healthChecker, times(1)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldKeepCheckingFastEndpointsWhileSlowOnesHang() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final Bulkheads bulkheads = mock(Bulkheads.class);
+    final HttpUrl fast = new HttpUrl("www.fast.com");
+    final CompletableFuture<HealthCheckResponse> hung = new CompletableFuture<>();
+    final Set<Endpoint> endpoints =
+        range(0, 3).mapToObj(i -> new Endpoint(new HttpUrl("www.slow" + i + ".com"))).collect(toSet());
+    endpoints.add(new Endpoint(fast));
+
+    when(bulkheads.tierOf(any(Endpoint.class))).thenReturn(SLOW);
+    when(bulkheads.tierOf(argThat(endpoint -> endpoint.getHttpUrl() == fast))).thenReturn(FAST);
+    when(bulkheads.tryAcquire(SLOW)).thenReturn(true, false);
+    when(bulkheads.tryAcquire(FAST)).thenReturn(true);
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(hung);
+    when(healthChecker.checkAsync(argThat(url -> url == fast)))
+        .thenReturn(completedFuture(new HealthCheckResponse(fast, OK.value(), now(), now())));
+
+    asyncCrawler(healthChecker, healthCheckRepository)
+        .maxInFlight(4)
+        .bulkheads(bulkheads)
+        .build()
+        .run(endpoints);
+
+    verify(healthChecker, timeout(TIMEOUT)).checkAsync(argThat(url -> url == fast));
+    verify(healthCheckRepository, timeout(TIMEOUT)).add(any(Endpoint.class), any(HealthCheckResponse.class));
+    verify(healthChecker, times(2)).checkAsync(any(HttpUrl.class));
+  }
+
+  @Test
+  void shouldLookAtAFullTierOnceInsteadOfAtEachOfItsTasks() {
+
+    final Bulkheads bulkheads = mock(Bulkheads.class);
+    final Set<Endpoint> endpoints =
+        range(0, 500).mapToObj(i -> new Endpoint(new HttpUrl("www.site" + i + ".com"))).collect(toSet());
+
+    when(bulkheads.tierOf(any(Endpoint.class))).thenReturn(FAST);
+    when(bulkheads.tryAcquire(FAST)).thenReturn(false);
+
+    final HealthCheckerCrawler crawler =
+        asyncCrawler(mock(HealthChecker.class), mock(HealthCheckRepository.class))
+            .bulkheads(bulkheads)
+            .build();
+    crawler.run(endpoints);
+
+    verify(bulkheads, times(1)).tryAcquire(FAST);
+    assertThat(crawler.getQueued()).isEqualTo(500);
+  }
+
+  @Test
+  void shouldReleaseEachEndpointAtItsOffsetInTheWindow() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final DispatchSpread spread = mock(DispatchSpread.class);
+    final HttpUrl early = new HttpUrl("www.early.com");
+    final HttpUrl late = new HttpUrl("www.late.com");
+
+    when(spread.offsetOf(any(Endpoint.class))).thenReturn(Duration.ZERO);
+    when(spread.offsetOf(argThat(endpoint -> endpoint.getHttpUrl() == late))).thenReturn(ofMillis(300));
+    when(healthChecker.checkAsync(any(HttpUrl.class)))
+        .thenReturn(completedFuture(new HealthCheckResponse(early, OK.value(), now(), now())));
+
+    final HealthCheckerCrawler crawler =
+        asyncCrawler(healthChecker, healthCheckRepository).spread(spread).build();
+    final CompletableFuture<CrawlCycle> cycle = crawler.run(Set.of(new Endpoint(early), new Endpoint(late)));
+
+    verify(healthChecker).checkAsync(early);
+    verify(healthChecker, times(0)).checkAsync(late);
+    assertThat(crawler.getWaiting()).isEqualTo(1);
+    assertThat(cycle.join().getChecked()).isEqualTo(2);
+    verify(healthChecker).checkAsync(late);
+  }
+
+  @Test
+  void shouldKeepChecksInFlightUnderTheConcurrencyLimit() {
+
+    final HealthChecker healthChecker = mock(HealthChecker.class);
+    final HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    final CompletableFuture<HealthCheckResponse> hung = new CompletableFuture<>();
+
+    when(healthChecker.checkAsync(any(HttpUrl.class))).thenReturn(hung);
+
+    final HealthCheckerCrawler crawler = asyncCrawler(healthChecker, healthCheckRepository)
+        .maxInFlight(10)
+        .limit(new ConcurrencyLimit(2, 10, ofSeconds(60), 0.5))
+        .build();
+    crawler.run(range(0, 5).mapToObj(i -> new Endpoint(new HttpUrl("www.a" + i + ".com"))).collect(toSet()));
+
+    assertThat(crawler.getInFlight()).isEqualTo(2);
+    assertThat(crawler.getQueued()).isEqualTo(3);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(BooleanSupplier condition) {
+    final long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private HealthCheckerCrawler retryingCrawler(
+      HealthChecker healthChecker, HealthCheckRepository healthCheckRepository, boolean hedge) {
+    return asyncCrawler(healthChecker, healthCheckRepository)
+        .maxInFlight(50)
+        .retryPolicy(new RetryPolicy(3, ofMillis(10), ofMillis(50), hedge))
+        .build();
+  }
+
+  private HealthCheckerCrawler.Builder asyncCrawler(
+      HealthChecker healthChecker, HealthCheckRepository healthCheckRepository) {
+    return HealthCheckerCrawler.builder(healthChecker, healthCheckRepository)
+        .mode(ASYNC)
+        .maxInFlight(2);
+  }
 }
@@ -0,0 +1,80 @@
+package com.alexmoleiro.healthchecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.net.URI.create;
+import static java.net.http.HttpClient.Version.HTTP_2;
+import static java.net.http.HttpRequest.newBuilder;
+import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.time.Duration.ofMinutes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HttpClientPoolTest {
+
+  private final HttpClient first = mock(HttpClient.class);
+  private final HttpClient second = mock(HttpClient.class);
+  private final HttpClientPool pool =
+      new HttpClientPool(
+          List.of(
+              new HttpClientShard(0, first, ofMinutes(1)),
+              new HttpClientShard(1, second, ofMinutes(1))));
+
+  @Test
+  void shouldSendEveryRequestOfAHostThroughTheSameShard() throws Exception {
+    final HttpResponse<Void> response = http2Response();
+    when(first.send(any(HttpRequest.class), any(BodyHandler.class))).thenReturn(response);
+    when(second.send(any(HttpRequest.class), any(BodyHandler.class))).thenReturn(response);
+
+    pool.send(request("https://www.a.com/"), discarding());
+    pool.send(request("https://www.a.com/books"), discarding());
+
+    final HttpClientShard shard = shardWithRequests();
+    assertThat(shard.getRequests()).isEqualTo(2);
+    assertThat(shard.getOrigins()).isEqualTo(1);
+    assertThat(shard.getEstimatedConnections()).isEqualTo(1);
+    assertThat(shard.getHttp2Responses()).isEqualTo(2);
+    assertThat(shard.getEstimatedReuseRate()).isEqualTo(0.5);
+    verify(shard.getIndex() == 0 ? second : first, never())
+        .send(any(HttpRequest.class), any(BodyHandler.class));
+  }
+
+  @Test
+  void shouldCountConcurrentHttp1RequestsAsSeparateConnections() {
+    when(first.sendAsync(any(HttpRequest.class), any(BodyHandler.class)))
+        .thenReturn(new CompletableFuture<>());
+    when(second.sendAsync(any(HttpRequest.class), any(BodyHandler.class)))
+        .thenReturn(new CompletableFuture<>());
+
+    pool.sendAsync(request("http://www.a.com/"), discarding());
+    pool.sendAsync(request("http://www.a.com/books"), discarding());
+
+    assertThat(shardWithRequests().getEstimatedConnections()).isEqualTo(2);
+  }
+
+  private HttpClientShard shardWithRequests() {
+    return pool.getShards().stream().filter(shard -> shard.getRequests() > 0).findFirst().get();
+  }
+
+  private HttpRequest request(String url) {
+    return newBuilder().uri(create(url)).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpResponse<Void> http2Response() {
+    final HttpResponse<Void> response = mock(HttpResponse.class);
+    when(response.version()).thenReturn(HTTP_2);
+    return response;
+  }
+}
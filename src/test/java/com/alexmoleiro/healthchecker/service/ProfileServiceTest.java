@@ -1,5 +1,6 @@
 package com.alexmoleiro.healthchecker.service;
 
+import com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse;
 import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
 import com.alexmoleiro.healthchecker.core.healthCheck.EndpointRepository;
 import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
@@ -16,12 +17,16 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.PROBED;
+import static com.alexmoleiro.healthchecker.core.healthCheck.CheckedResponse.Source.RECORDED;
 import static java.time.LocalDateTime.now;
 import static java.util.Collections.emptyList;
 import static java.util.Set.of;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.OK;
@@ -42,7 +47,7 @@ class ProfileServiceTest {
             new ProfileRepositoryInMemory(),
             new HealthChecksInMemory(),
             new EndpointInMemory(),
-            mock(HealthChecker.class),
+            probing(),
             ONE_ENDPOINT_PER_USER);
 
     profileService.addEndpointToEndpointsAndUserProfile(RANDOM_USER, ENDPOINT_B);
@@ -81,7 +86,8 @@ class ProfileServiceTest {
     final HealthCheckResponse healthCheckResponse =
         new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), now(), now());
 
-    when(healthChecker.check(ENDPOINT.getHttpUrl())).thenReturn(healthCheckResponse);
+    when(healthChecker.checkWithSource(ENDPOINT.getHttpUrl()))
+        .thenReturn(new CheckedResponse(healthCheckResponse, PROBED));
 
     new ProfileService(
             profileRepository,
@@ -96,11 +102,32 @@ class ProfileServiceTest {
     verify(healthCheckRepository).add(ENDPOINT, healthCheckResponse);
   }
 
+  @Test
+  void shouldNotStoreAgainAResponseThatCameFromTheRepository() {
+    HealthChecker healthChecker = mock(HealthChecker.class);
+    HealthCheckRepository healthCheckRepository = mock(HealthCheckRepository.class);
+    when(healthChecker.checkWithSource(ENDPOINT.getHttpUrl()))
+        .thenReturn(
+            new CheckedResponse(
+                new HealthCheckResponse(ENDPOINT.getHttpUrl(), OK.value(), now(), now()),
+                RECORDED));
+
+    new ProfileService(
+            mock(ProfileRepository.class),
+            healthCheckRepository,
+            mock(EndpointRepository.class),
+            healthChecker,
+            MAX_ENDPOINTS_PER_USER_LIMIT)
+        .addEndpointToEndpointsAndUserProfile(RANDOM_USER, ENDPOINT);
+
+    verify(healthCheckRepository, never()).add(any(Endpoint.class), any(HealthCheckResponse.class));
+  }
+
   @Test
   void shouldAddExistingEndpointToAnotherUser() {
 
     ProfileRepository profileRepository = mock(ProfileRepository.class);
-    HealthChecker healthChecker = mock(HealthChecker.class);
+    HealthChecker healthChecker = probing();
 
     ProfileService profileService =
         new ProfileService(
@@ -137,4 +164,15 @@ class ProfileServiceTest {
     verify(profileRepository).deleteEndpoint(RANDOM_USER, ENDPOINT_B);
     verify(profileRepository).deleteEndpoint(RANDOM_USER, ENDPOINT);
   }
+
+  private static HealthChecker probing() {
+    HealthChecker healthChecker = mock(HealthChecker.class);
+    when(healthChecker.checkWithSource(any(HttpUrl.class)))
+        .thenAnswer(
+            invocation ->
+                new CheckedResponse(
+                    new HealthCheckResponse(invocation.getArgument(0), OK.value(), now(), now()),
+                    PROBED));
+    return healthChecker;
+  }
 }
@@ -0,0 +1,36 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthChecker;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.dns.NameResolver;
+import org.junit.jupiter.api.Test;
+
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class ResolvingHealthCheckerTest {
+
+  private final HealthChecker healthChecker = mock(HealthChecker.class);
+  private final NameResolver nxdomain =
+      host -> {
+        throw new UnknownHostException(host);
+      };
+
+  @Test
+  void shouldNotCheckHostsThatDoNotResolve() {
+    final ResolvingHealthChecker checker = new ResolvingHealthChecker(healthChecker, nxdomain);
+
+    assertThat(checker.check(new HttpUrl("www.dead.com")).getStatus())
+        .isEqualTo(SERVICE_UNAVAILABLE.value());
+    assertThat(checker.checkAsync(new HttpUrl("www.dead.com")).join().getStatus())
+        .isEqualTo(SERVICE_UNAVAILABLE.value());
+    verify(healthChecker, never()).check(any(HttpUrl.class));
+    verify(healthChecker, never()).checkAsync(any(HttpUrl.class));
+  }
+}
@@ -0,0 +1,83 @@
+package com.alexmoleiro.healthchecker.service;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.service.crawler.CheckIntervals;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.DEFAULT;
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
+import static java.time.Duration.ofSeconds;
+import static java.util.stream.IntStream.rangeClosed;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.AdditionalMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TimingWheelSchedulerTest {
+
+  private static final int SECONDS_IN_TEST = 60;
+  private final HealthCheckerCrawler crawler = mock(HealthCheckerCrawler.class);
+  private final TimingWheelScheduler scheduler =
+      new TimingWheelScheduler(
+          crawler,
+          new CheckIntervals(ofSeconds(30), ofSeconds(20), ofSeconds(5)),
+          ofSeconds(1),
+          64,
+          mock(ScheduledExecutorService.class));
+
+  @Test
+  void shouldDispatchEveryEndpointOnItsOwnInterval() {
+    final Endpoint landing = new Endpoint(new HttpUrl("www.a.com"), LANDING);
+    final Endpoint followed = new Endpoint(new HttpUrl("www.b.com"), DEFAULT, ofSeconds(10));
+
+    scheduler.tick(() -> Set.of(landing, followed));
+    rangeClosed(1, SECONDS_IN_TEST).forEach(second -> scheduler.advance());
+
+    verify(crawler, times(SECONDS_IN_TEST / 30)).run(argThat(due -> due.contains(landing)), anyDouble());
+    verify(crawler, times(SECONDS_IN_TEST / 10)).run(argThat(due -> due.contains(followed)), anyDouble());
+    assertThat(scheduler.getScheduled()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReportTheRateEndpointsComeDueAt() {
+    final Endpoint landing = new Endpoint(new HttpUrl("www.a.com"), LANDING);
+    final Endpoint followed = new Endpoint(new HttpUrl("www.b.com"), DEFAULT, ofSeconds(10));
+
+    scheduler.tick(() -> Set.of(landing, followed));
+    rangeClosed(1, SECONDS_IN_TEST).forEach(second -> scheduler.advance());
+
+    verify(crawler, atLeast(1)).run(argThat(due -> due.contains(followed)), eq(1.0 / 30 + 1.0 / 10, 1e-9));
+  }
+
+  @Test
+  void shouldNotGoBelowTheMinimumInterval() {
+    final Endpoint endpoint = new Endpoint(new HttpUrl("www.c.com"), DEFAULT, ofSeconds(1));
+
+    scheduler.tick(() -> Set.of(endpoint));
+    rangeClosed(1, SECONDS_IN_TEST).forEach(second -> scheduler.advance());
+
+    verify(crawler, times(SECONDS_IN_TEST / 5)).run(argThat(due -> due.contains(endpoint)), anyDouble());
+  }
+
+  @Test
+  void shouldStopDispatchingEndpointsThatAreGone() {
+    final Endpoint endpoint = new Endpoint(new HttpUrl("www.d.com"), LANDING);
+
+    scheduler.tick(() -> Set.of(endpoint));
+    rangeClosed(1, SECONDS_IN_TEST).forEach(second -> scheduler.advance());
+    scheduler.tick(Set::of);
+    rangeClosed(1, SECONDS_IN_TEST).forEach(second -> scheduler.advance());
+
+    verify(crawler, atLeast(1)).run(argThat(due -> due.contains(endpoint)), anyDouble());
+    verify(crawler, times(SECONDS_IN_TEST / 30)).run(argThat(due -> due.contains(endpoint)), anyDouble());
+    assertThat(scheduler.getScheduled()).isZero();
+  }
+}
@@ -0,0 +1,81 @@
+package com.alexmoleiro.healthchecker.service.cluster;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterMembershipTest {
+
+  private static final int VIRTUAL_NODES = 128;
+  private static final List<String> NODES = List.of("localhost:8081", "localhost:8082", "localhost:8083");
+  private final Set<Endpoint> endpoints =
+      range(0, 3000).mapToObj(i -> new Endpoint(new HttpUrl("www.site" + i + ".com"))).collect(toSet());
+
+  @Test
+  void shouldSplitTheEndpointsBetweenInstancesWithoutOverlap() {
+    final List<Set<Endpoint>> slices = NODES.stream()
+        .map(self -> new ClusterMembership(self, NODES, VIRTUAL_NODES).owned(endpoints))
+        .collect(toList());
+
+    final Set<Endpoint> all = new HashSet<>();
+    slices.forEach(slice -> {
+      assertThat(slice).noneMatch(all::contains);
+      assertThat(slice.size()).isBetween(700, 1300);
+      all.addAll(slice);
+    });
+    assertThat(all).isEqualTo(endpoints);
+  }
+
+  @Test
+  void shouldOnlyMoveEndpointsToTheNodeThatJoins() {
+    final List<String> grown = List.of("localhost:8081", "localhost:8082", "localhost:8083", "localhost:8084");
+    final HashRing before = new HashRing(NODES, VIRTUAL_NODES);
+    final HashRing after = new HashRing(grown, VIRTUAL_NODES);
+
+    final List<Endpoint> moved = endpoints.stream()
+        .filter(endpoint -> !before.owner(endpoint.getUrl()).equals(after.owner(endpoint.getUrl())))
+        .collect(toList());
+
+    assertThat(moved).allMatch(endpoint -> after.owner(endpoint.getUrl()).equals("localhost:8084"));
+    assertThat(moved.size()).isBetween(500, 1000);
+  }
+
+  @Test
+  void shouldTakeBackTheSliceOfANodeThatLeaves() {
+    final Set<Endpoint> owned = new ClusterMembership("localhost:8081", NODES, VIRTUAL_NODES).owned(endpoints);
+
+    final ClusterMembership shrunk =
+        new ClusterMembership("localhost:8081", List.of("localhost:8082"), VIRTUAL_NODES);
+
+    assertThat(shrunk.owned(endpoints)).containsAll(owned);
+    assertThat(shrunk.getMembers()).containsExactlyInAnyOrder("localhost:8081", "localhost:8082");
+  }
+
+  @Test
+  void shouldRebalanceWhenAMemberStopsAnsweringAndWhenItComesBack() {
+    final ClusterMembership membership = new ClusterMembership("localhost:8081", NODES, VIRTUAL_NODES);
+    final Set<Endpoint> owned = membership.owned(endpoints);
+
+    membership.setLive(List.of("localhost:8082"));
+    assertThat(membership.getMembers()).containsExactlyInAnyOrder("localhost:8081", "localhost:8082");
+    assertThat(membership.owned(endpoints)).containsAll(owned).hasSizeGreaterThan(owned.size());
+
+    membership.setLive(List.of("localhost:8082", "localhost:8083", "localhost:9999"));
+    assertThat(membership.getMembers()).containsExactlyInAnyOrderElementsOf(NODES);
+    assertThat(membership.owned(endpoints)).isEqualTo(owned);
+  }
+
+  @Test
+  void shouldOwnEveryEndpointWhenStandalone() {
+    assertThat(ClusterMembership.standalone().owned(endpoints)).isEqualTo(endpoints);
+  }
+}
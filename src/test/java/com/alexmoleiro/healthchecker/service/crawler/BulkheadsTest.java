@@ -0,0 +1,73 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.FAST;
+import static com.alexmoleiro.healthchecker.service.crawler.LatencyTier.SLOW;
+import static java.time.Duration.ofSeconds;
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.OK;
+
+class BulkheadsTest {
+
+  private final HealthCheckRepository repository = new HealthChecksInMemory();
+  private final Bulkheads bulkheads = new Bulkheads(repository, ofSeconds(5), 10, 3, 1);
+  private final HttpUrl url = new HttpUrl("www.a.com");
+  private final Endpoint endpoint = new Endpoint(url);
+
+  @Test
+  void shouldTreatEndpointsWithoutHistoryAsFast() {
+    assertThat(bulkheads.tierOf(endpoint)).isEqualTo(FAST);
+  }
+
+  @Test
+  void shouldClassifyChronicSlowRespondersAsSlow() {
+    record(6, 200, OK.value());
+    record(4, 10, GATEWAY_TIMEOUT.value());
+    assertThat(bulkheads.tierOf(endpoint)).isEqualTo(FAST);
+
+    record(1, 6_000, OK.value());
+    assertThat(bulkheads.tierOf(endpoint)).isEqualTo(SLOW);
+  }
+
+  @Test
+  void shouldLimitEachTierSeparately() {
+    assertThat(bulkheads.tryAcquire(SLOW)).isTrue();
+    assertThat(bulkheads.tryAcquire(SLOW)).isFalse();
+    assertThat(bulkheads.tryAcquire(FAST)).isTrue();
+
+    bulkheads.release(SLOW);
+
+    assertThat(bulkheads.tryAcquire(SLOW)).isTrue();
+    assertThat(bulkheads.getInFlight(FAST)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldScaleTheSplitWithTheCrawlerLimit() {
+    final Bulkheads split = new Bulkheads(repository, ofSeconds(5), 10, 30, 10);
+
+    split.resize(8);
+    assertThat(split.getLimit(SLOW)).isEqualTo(2);
+    assertThat(split.getLimit(FAST)).isEqualTo(6);
+
+    split.resize(2);
+    assertThat(split.getLimit(SLOW)).isEqualTo(1);
+    assertThat(split.getLimit(FAST)).isEqualTo(1);
+  }
+
+  private void record(int times, long delay, int status) {
+    final LocalDateTime now = now();
+    for (int i = 0; i < times; i++) {
+      repository.add(endpoint, new HealthCheckResponse(url, status, now.minusNanos(delay * 1_000_000), now));
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.HALF_OPEN;
+import static com.alexmoleiro.healthchecker.service.crawler.BreakerState.OPEN;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class CircuitBreakersTest {
+
+  private final Clock clock = mock(Clock.class);
+  private final CircuitBreakers breakers = new CircuitBreakers(3, ofSeconds(600), clock);
+  private final Endpoint home = new Endpoint(new HttpUrl("www.dead.com"));
+  private final Endpoint page = new Endpoint(new HttpUrl("www.dead.com/page"));
+  private Instant now = Instant.parse("2020-12-10T10:00:00Z");
+
+  @BeforeEach
+  void setUp() {
+    when(clock.instant()).thenAnswer(invocation -> now);
+  }
+
+  @Test
+  void shouldOpenAfterConsecutiveUnreachableChecks() {
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+    breakers.record(home, GATEWAY_TIMEOUT.value());
+    assertThat(breakers.allow(page)).isTrue();
+
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+
+    assertThat(breakers.allow(page)).isFalse();
+    assertThat(breakers.getTripped()).extracting(CircuitBreakers.Breaker::getState).containsExactly(OPEN);
+    assertThat(breakers.getShortCircuited()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldResetWhenTheHostAnswers() {
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+    breakers.record(home, NOT_FOUND.value());
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+
+    assertThat(breakers.allow(home)).isTrue();
+  }
+
+  @Test
+  void shouldLetASingleProbeThroughOnceTheBreakerHasBeenOpenLongEnough() {
+    open();
+    now = now.plusSeconds(600);
+
+    assertThat(breakers.allow(home)).isTrue();
+    assertThat(breakers.allow(page)).isFalse();
+    assertThat(breakers.getTripped()).extracting(CircuitBreakers.Breaker::getState).containsExactly(HALF_OPEN);
+  }
+
+  @Test
+  void shouldCloseOrReopenOnTheResultOfTheProbe() {
+    open();
+    now = now.plusSeconds(600);
+    breakers.allow(home);
+    breakers.record(home, SERVICE_UNAVAILABLE.value());
+    assertThat(breakers.allow(home)).isFalse();
+
+    now = now.plusSeconds(600);
+    breakers.allow(home);
+    breakers.record(home, OK.value());
+    assertThat(breakers.allow(home)).isTrue();
+    assertThat(breakers.getTripped()).isEmpty();
+  }
+
+  @Test
+  void shouldLetTheNextProbeThroughWhenOneIsAbandoned() {
+    open();
+    now = now.plusSeconds(600);
+    breakers.allow(home);
+
+    breakers.abandon(home);
+
+    assertThat(breakers.getTripped()).extracting(CircuitBreakers.Breaker::getState).containsExactly(OPEN);
+    assertThat(breakers.allow(page)).isTrue();
+    assertThat(breakers.allow(home)).isFalse();
+  }
+
+  @Test
+  void shouldLetTheNextProbeThroughWhenOneNeverReports() {
+    open();
+    now = now.plusSeconds(600);
+    breakers.allow(home);
+
+    now = now.plusSeconds(599);
+    assertThat(breakers.allow(home)).isFalse();
+    now = now.plusSeconds(1);
+    assertThat(breakers.allow(home)).isTrue();
+    assertThat(breakers.allow(page)).isFalse();
+  }
+
+  private void open() {
+    for (int i = 0; i < 3; i++) {
+      breakers.record(home, SERVICE_UNAVAILABLE.value());
+    }
+  }
+}
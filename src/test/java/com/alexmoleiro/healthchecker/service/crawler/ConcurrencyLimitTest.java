@@ -0,0 +1,84 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.ERROR_BACKOFF;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.HOLD;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.INCREASE;
+import static com.alexmoleiro.healthchecker.service.crawler.LimitDecision.LATENCY_BACKOFF;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitTest {
+
+  private final ConcurrencyLimit limit = new ConcurrencyLimit(2, 64, ofSeconds(100), 0.5);
+
+  @Test
+  void shouldDoubleWhileHealthyUntilTheFirstBackOff() {
+    results(2, 100, false);
+    results(4, 100, false);
+
+    assertThat(limit.getLimit()).isEqualTo(8);
+    assertThat(limit.getLastDecision()).isEqualTo(INCREASE);
+  }
+
+  @Test
+  void shouldBackOffWhenErrorsPile() {
+    results(2, 100, false);
+    results(4, 100, true);
+
+    assertThat(limit.getLimit()).isEqualTo(3);
+    assertThat(limit.getLastDecision()).isEqualTo(ERROR_BACKOFF);
+  }
+
+  @Test
+  void shouldBackOffWhenLatencyDoublesAndThenGrowLinearly() {
+    results(2, 100, false);
+    results(4, 100, false);
+    results(8, 300, false);
+    assertThat(limit.getLimit()).isEqualTo(6);
+    assertThat(limit.getLastDecision()).isEqualTo(LATENCY_BACKOFF);
+
+    results(6, 100, false);
+    assertThat(limit.getLimit()).isEqualTo(7);
+    assertThat(limit.getDecreases()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotGrowPastWhatTheCycleNeeds() {
+    limit.onCycle(100);
+    results(2, 1000, false);
+    results(2, 1000, false);
+
+    assertThat(limit.getTarget()).isEqualTo(1);
+    assertThat(limit.getLimit()).isEqualTo(2);
+    assertThat(limit.getLastDecision()).isEqualTo(HOLD);
+  }
+
+  @Test
+  void shouldAimAtTheArrivalRateOfEndpointsThatComeDueOneByOne() {
+    limit.onArrivals(20);
+    results(2, 1000, false);
+    results(4, 1000, false);
+
+    assertThat(limit.getTarget()).isEqualTo(20);
+    assertThat(limit.getLimit()).isEqualTo(8);
+    assertThat(limit.getLastDecision()).isEqualTo(INCREASE);
+  }
+
+  @Test
+  void shouldNeverChangeAFixedLimit() {
+    final ConcurrencyLimit fixed = ConcurrencyLimit.fixed(40);
+    for (int i = 0; i < 100; i++) {
+      fixed.onResult(25_000, true);
+    }
+
+    assertThat(fixed.getLimit()).isEqualTo(40);
+  }
+
+  private void results(int count, long latency, boolean error) {
+    for (int i = 0; i < count; i++) {
+      limit.onResult(latency, error);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import static com.alexmoleiro.healthchecker.core.healthCheck.EndpointType.LANDING;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.CHANGED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.FOLLOWED;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.OVERDUE;
+import static com.alexmoleiro.healthchecker.service.crawler.CrawlPriority.ROUTINE;
+import static java.time.Clock.fixed;
+import static java.time.Duration.ofSeconds;
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class CrawlPrioritiesTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2020, 12, 10, 10, 0, 0);
+  private final Clock clock = fixed(NOW.toInstant(UTC), UTC);
+  private final HealthCheckRepository repository = new HealthChecksInMemory();
+  private final CrawlPriorities priorities = new CrawlPriorities(
+      repository, new CheckIntervals(ofSeconds(300), ofSeconds(60), ofSeconds(30)), 2, ofSeconds(5), clock);
+  private final HttpUrl url = new HttpUrl("www.a.com");
+  private final Endpoint landing = new Endpoint(url, LANDING);
+  private final Endpoint followed = new Endpoint(url);
+
+  @Test
+  void shouldPutEndpointsNeverCheckedAsOverdue() {
+    assertThat(priorities.of(landing)).isEqualTo(OVERDUE);
+  }
+
+  @Test
+  void shouldPrioritizeFollowedOverLandingEndpoints() {
+    record(landing, OK.value(), 10);
+
+    assertThat(priorities.of(landing)).isEqualTo(ROUTINE);
+    assertThat(priorities.of(followed)).isEqualTo(FOLLOWED);
+  }
+
+  @Test
+  void shouldPutEndpointsOverdueByHalfAnInterval() {
+    record(landing, OK.value(), 451);
+
+    assertThat(priorities.of(landing)).isEqualTo(OVERDUE);
+  }
+
+  @Test
+  void shouldPutEndpointsThatChangedStateFirst() {
+    record(landing, OK.value(), 20);
+    record(landing, SERVICE_UNAVAILABLE.value(), 10);
+
+    assertThat(priorities.of(landing)).isEqualTo(CHANGED);
+  }
+
+  @Test
+  void shouldRecheckOnlySitesThatJustWentDown() {
+    record(landing, OK.value(), 10);
+
+    assertThat(priorities.recheck(landing, response(OK.value(), 0))).isEmpty();
+    assertThat(priorities.recheck(landing, response(SERVICE_UNAVAILABLE.value(), 0))).contains(ofSeconds(5));
+    assertThat(priorities.of(landing)).isEqualTo(CHANGED);
+  }
+
+  @Test
+  void shouldStopRecheckingOnceTheOutageIsConfirmed() {
+    record(landing, OK.value(), 10);
+    final HealthCheckResponse down = response(SERVICE_UNAVAILABLE.value(), 0);
+
+    assertThat(priorities.recheck(landing, down)).isPresent();
+    record(landing, SERVICE_UNAVAILABLE.value(), 0);
+    assertThat(priorities.recheck(landing, down)).isPresent();
+    record(landing, SERVICE_UNAVAILABLE.value(), 0);
+    assertThat(priorities.recheck(landing, down)).isEmpty();
+    record(landing, SERVICE_UNAVAILABLE.value(), 0);
+    assertThat(priorities.recheck(landing, down)).isEmpty();
+  }
+
+  private void record(Endpoint endpoint, int status, long secondsAgo) {
+    repository.add(endpoint, response(status, secondsAgo));
+  }
+
+  private HealthCheckResponse response(int status, long secondsAgo) {
+    final LocalDateTime time = NOW.minusSeconds(secondsAgo);
+    return new HealthCheckResponse(url, status, time, time);
+  }
+}
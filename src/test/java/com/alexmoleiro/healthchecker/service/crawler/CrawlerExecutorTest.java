@@ -0,0 +1,90 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.IntStream.rangeClosed;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+class CrawlerExecutorTest {
+
+  private static final int N_THREADS = 2;
+
+  @ParameterizedTest
+  @MethodSource("executors")
+  void shouldReportActiveChecks(CrawlerExecutor executor, int expectedActive) {
+    final CountDownLatch release = new CountDownLatch(1);
+
+    rangeClosed(1, N_THREADS).forEach(i -> executor.execute(() -> block(release)));
+
+    eventually(() -> executor.getActiveCount() == expectedActive);
+    release.countDown();
+    eventually(() -> executor.getActiveCount() == 0);
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldReportQueuedChecksWhenEveryThreadIsBusy() {
+    final PlatformCrawlerExecutor executor = new PlatformCrawlerExecutor(N_THREADS);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    rangeClosed(1, N_THREADS + 3).forEach(i -> executor.execute(() -> block(release)));
+
+    eventually(() -> executor.getActiveCount() == N_THREADS);
+    assertThat(executor.getQueueDepth()).isEqualTo(3);
+    release.countDown();
+    eventually(() -> executor.getQueueDepth() == 0);
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldRunOnTheCallerWhenTheQueueIsFull() {
+    final PlatformCrawlerExecutor executor = new PlatformCrawlerExecutor(1, 1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Thread caller = Thread.currentThread();
+    final AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+    executor.execute(() -> block(release));
+    eventually(() -> executor.getActiveCount() == 1);
+    executor.execute(() -> block(release));
+    executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+    assertThat(ranOn.get()).isSameAs(caller);
+    assertThat(executor.getQueueDepth()).isEqualTo(1);
+    assertThat(executor.getCallerRuns()).isEqualTo(1);
+    release.countDown();
+    executor.shutdown();
+  }
+
+  private static Stream<Arguments> executors() {
+    return Stream.of(
+        of(new PlatformCrawlerExecutor(N_THREADS), N_THREADS),
+        of(new ForkJoinCrawlerExecutor(N_THREADS), N_THREADS),
+        of(new ThreadPerCheckCrawlerExecutor(), N_THREADS));
+  }
+
+  private static void eventually(BooleanSupplier condition) {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private static void block(CountDownLatch latch) {
+    try {
+      latch.await(5, SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DispatchSpreadTest {
+
+  private final DispatchSpread spread = new DispatchSpread(ofSeconds(240));
+  private final List<Endpoint> endpoints =
+      range(0, 2000).mapToObj(i -> new Endpoint(new HttpUrl("www.site" + i + ".com"))).collect(toList());
+
+  @Test
+  void shouldKeepTheSameOffsetForAnEndpoint() {
+    final Endpoint endpoint = new Endpoint(new HttpUrl("www.a.com"));
+
+    assertThat(spread.offsetOf(endpoint)).isEqualTo(spread.offsetOf(new Endpoint(new HttpUrl("www.a.com"))));
+    assertThat(spread.offsetOf(endpoint)).isBetween(ZERO, ofSeconds(240));
+  }
+
+  @Test
+  void shouldSpreadTheEndpointsEvenlyOverTheWindow() {
+    final Map<Long, Long> perMinute = endpoints.stream()
+        .map(spread::offsetOf)
+        .collect(groupingBy(Duration::toMinutes, counting()));
+
+    assertThat(perMinute).hasSize(4);
+    assertThat(perMinute.values()).allMatch(count -> count > 400 && count < 600);
+  }
+
+  @Test
+  void shouldReleaseEverythingAtOnceWithoutAWindow() {
+    assertThat(endpoints).allMatch(endpoint -> DispatchSpread.none().offsetOf(endpoint).isZero());
+  }
+}
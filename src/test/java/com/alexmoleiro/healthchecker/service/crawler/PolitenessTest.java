@@ -0,0 +1,86 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolitenessTest {
+
+  private static final int UNLIMITED = 0;
+  private final Endpoint home = new Endpoint(new HttpUrl("https://www.amazon.com"));
+  private final Endpoint books = new Endpoint(new HttpUrl("https://www.amazon.com/books"));
+  private final Endpoint music = new Endpoint(new HttpUrl("https://music.amazon.com"));
+  private final Endpoint other = new Endpoint(new HttpUrl("https://www.other.com"));
+
+  @Test
+  void shouldLimitConcurrentChecksPerHost() {
+    final Politeness politeness = new Politeness(1, UNLIMITED, UNLIMITED, UNLIMITED);
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    assertThat(politeness.tryAcquire(books)).isFalse();
+    assertThat(politeness.tryAcquire(music)).isTrue();
+
+    politeness.release(home);
+
+    assertThat(politeness.tryAcquire(books)).isTrue();
+    assertThat(politeness.getDeferred()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLimitConcurrentChecksPerGroup() {
+    final Politeness politeness = new Politeness(UNLIMITED, 2, UNLIMITED, UNLIMITED);
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    assertThat(politeness.tryAcquire(books)).isTrue();
+    assertThat(politeness.tryAcquire(music)).isFalse();
+    assertThat(politeness.tryAcquire(other)).isTrue();
+  }
+
+  @Test
+  void shouldLimitChecksPerSecond() {
+    final Politeness politeness = new Politeness(UNLIMITED, UNLIMITED, 2, UNLIMITED);
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    politeness.release(home);
+    assertThat(politeness.tryAcquire(books)).isTrue();
+    politeness.release(books);
+
+    assertThat(politeness.tryAcquire(home)).isFalse();
+    assertThat(politeness.tryAcquire(other)).isTrue();
+    assertThat(politeness.isRateLimited()).isTrue();
+  }
+
+  @Test
+  void shouldCountTheConnectionThatTimesThePhasesAgainstTheRate() {
+    final Politeness politeness = new Politeness(UNLIMITED, UNLIMITED, 4, UNLIMITED, 2);
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    politeness.release(home);
+    assertThat(politeness.tryAcquire(books)).isTrue();
+    politeness.release(books);
+
+    assertThat(politeness.tryAcquire(home)).isFalse();
+  }
+
+  @Test
+  void shouldLetOneCheckThroughWhenTheRateIsBelowItsConnections() {
+    final Politeness politeness = new Politeness(UNLIMITED, UNLIMITED, 1, UNLIMITED, 2);
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    politeness.release(home);
+
+    assertThat(politeness.tryAcquire(books)).isFalse();
+  }
+
+  @Test
+  void shouldNotLimitByDefault() {
+    final Politeness politeness = Politeness.unlimited();
+
+    assertThat(politeness.tryAcquire(home)).isTrue();
+    assertThat(politeness.tryAcquire(books)).isTrue();
+    assertThat(politeness.tryAcquire(music)).isTrue();
+    assertThat(politeness.isRateLimited()).isFalse();
+  }
+}
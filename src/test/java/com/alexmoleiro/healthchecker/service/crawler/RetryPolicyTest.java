@@ -0,0 +1,36 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static java.util.stream.IntStream.rangeClosed;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class RetryPolicyTest {
+
+  private final RetryPolicy retryPolicy = new RetryPolicy(3, ofMillis(100), ofMillis(300), false);
+
+  @Test
+  void shouldRetryTimeoutsAndUnreachableHostsUpToTheLimit() {
+    assertThat(retryPolicy.shouldRetry(GATEWAY_TIMEOUT.value(), 1)).isTrue();
+    assertThat(retryPolicy.shouldRetry(SERVICE_UNAVAILABLE.value(), 2)).isTrue();
+    assertThat(retryPolicy.shouldRetry(SERVICE_UNAVAILABLE.value(), 3)).isFalse();
+    assertThat(retryPolicy.shouldRetry(INTERNAL_SERVER_ERROR.value(), 1)).isFalse();
+    assertThat(RetryPolicy.none().shouldRetry(GATEWAY_TIMEOUT.value(), 1)).isFalse();
+  }
+
+  @Test
+  void shouldJitterBackoffUnderAnExponentialCeiling() {
+    rangeClosed(1, 100)
+        .forEach(
+            i -> {
+              assertThat(retryPolicy.backoff(1)).isBetween(ZERO, ofMillis(100));
+              assertThat(retryPolicy.backoff(2)).isBetween(ZERO, ofMillis(200));
+              assertThat(retryPolicy.backoff(5)).isBetween(ZERO, ofMillis(300));
+            });
+  }
+}
@@ -0,0 +1,104 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import com.alexmoleiro.healthchecker.core.healthCheck.Endpoint;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckRepository;
+import com.alexmoleiro.healthchecker.core.healthCheck.HealthCheckResponse;
+import com.alexmoleiro.healthchecker.core.healthCheck.HttpUrl;
+import com.alexmoleiro.healthchecker.infrastructure.repositories.HealthChecksInMemory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+class TimeoutBudgetTest {
+
+  private final HttpUrl url = new HttpUrl("www.a.com");
+  private final Endpoint endpoint = new Endpoint(url);
+  private final HealthCheckRepository repository = new HealthChecksInMemory();
+  private final TimeoutBudget budget =
+      new TimeoutBudget(repository, 4, ofMillis(500), ofSeconds(25), 100, 10);
+
+  @Test
+  void shouldGiveTheCeilingWithoutEnoughHistory() {
+    record(9, 100, OK.value());
+
+    assertThat(budget.forEndpoint(endpoint)).contains(ofSeconds(25));
+  }
+
+  @Test
+  void shouldGiveTheCeilingToAnEndpointNeverCheckedEvenWithoutAMinimumOfSamples() {
+    final TimeoutBudget anyHistory =
+        new TimeoutBudget(repository, 4, ofMillis(500), ofSeconds(25), 100, 0);
+
+    assertThat(anyHistory.forEndpoint(endpoint)).contains(ofSeconds(25));
+
+    record(1, 100, OK.value());
+    assertThat(anyHistory.forEndpoint(endpoint)).contains(ofMillis(500));
+  }
+
+  @Test
+  void shouldHaveNoBudgetWhenDisabled() {
+    record(20, 200, OK.value());
+
+    assertThat(TimeoutBudget.none().forEndpoint(endpoint)).isEmpty();
+  }
+
+  @Test
+  void shouldMultiplyTheP99OfTheRecentChecks() {
+    record(99, 200, OK.value());
+    record(1, 300, OK.value());
+
+    assertThat(budget.forEndpoint(endpoint)).contains(ofMillis(800));
+  }
+
+  @Test
+  void shouldKeepTheBudgetBetweenFloorAndCeiling() {
+    record(10, 50, OK.value());
+    assertThat(budget.forEndpoint(endpoint)).contains(ofMillis(500));
+
+    record(10, 10_000, OK.value());
+    assertThat(budget.forEndpoint(endpoint)).contains(ofSeconds(25));
+  }
+
+  @Test
+  void shouldIgnoreTimedOutChecks() {
+    record(5, 25_000, GATEWAY_TIMEOUT.value());
+    record(20, 200, OK.value());
+
+    assertThat(budget.forEndpoint(endpoint)).contains(ofMillis(800));
+  }
+
+  @Test
+  void shouldIgnoreChecksTheOriginNeverAnswered() {
+    record(20, 200, OK.value());
+    record(5, 0, SERVICE_UNAVAILABLE.value());
+
+    assertThat(budget.forEndpoint(endpoint)).contains(ofMillis(800));
+  }
+
+  @Test
+  void shouldGiveTheCeilingToTheCheckAfterATimeout() {
+    record(20, 200, OK.value());
+    record(1, 800, GATEWAY_TIMEOUT.value());
+
+    assertThat(budget.forEndpoint(endpoint)).contains(ofSeconds(25));
+    assertThat(budget.afterTimeout()).contains(ofSeconds(25));
+
+    record(1, 3_000, OK.value());
+    assertThat(budget.forEndpoint(endpoint)).contains(ofSeconds(12));
+  }
+
+  private void record(int times, long delay, int status) {
+    final LocalDateTime now = now();
+    for (int i = 0; i < times; i++) {
+      repository.add(endpoint, new HealthCheckResponse(url, status, now.minusNanos(delay * 1_000_000), now));
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.alexmoleiro.healthchecker.service.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.stream.IntStream.rangeClosed;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+  @Test
+  void shouldExpireItemsOnTheirTick() {
+    final TimingWheel<String> wheel = new TimingWheel<>(ofSeconds(1), 4);
+
+    wheel.schedule("a", ofSeconds(1));
+    wheel.schedule("b", ofMillis(2500));
+
+    assertThat(wheel.advance()).containsOnly("a");
+    assertThat(wheel.advance()).isEmpty();
+    assertThat(wheel.advance()).containsOnly("b");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void shouldWaitFullTurnsForDelaysLongerThanTheWheel() {
+    final TimingWheel<String> wheel = new TimingWheel<>(ofSeconds(1), 4);
+    wheel.schedule("a", ofSeconds(9));
+
+    final List<Integer> expiredAt = new ArrayList<>();
+    rangeClosed(1, 12).forEach(tick -> wheel.advance().forEach(item -> expiredAt.add(tick)));
+
+    assertThat(expiredAt).containsExactly(9);
+  }
+}
@@ -0,0 +1,150 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachingNameResolverTest {
+
+  private final StubResolver stub = new StubResolver();
+  private final Clock clock = mock(Clock.class);
+  private final AtomicInteger executed = new AtomicInteger();
+  private final Executor executor =
+      command -> {
+        executed.incrementAndGet();
+        command.run();
+      };
+  private final CachingNameResolver resolver =
+      new CachingNameResolver(stub, ofSeconds(30), ofSeconds(300), ofSeconds(10), executor, clock);
+  private Instant now = Instant.parse("2020-12-08T23:20:00Z");
+
+  @BeforeEach
+  void setUp() throws UnknownHostException {
+    when(clock.instant()).thenAnswer(invocation -> now);
+    stub.addresses.put("www.a.com", InetAddress.getByAddress("www.a.com", new byte[] {10, 0, 0, 1}));
+    stub.unanswered.add("www.flaky.com");
+  }
+
+  @Test
+  void shouldServeNamesThatResolveFromTheCacheUntilTheirTtl() throws UnknownHostException {
+    resolver.resolve("www.a.com");
+    now = now.plusSeconds(29);
+    resolver.resolve("www.a.com");
+    now = now.plusSeconds(1);
+    resolver.resolve("www.a.com");
+
+    assertThat(stub.lookups).isEqualTo(2);
+    assertThat(resolver.getHits()).isEqualTo(1);
+    assertThat(resolver.getMisses()).isEqualTo(2);
+    assertThat(resolver.getLookups()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRememberNamesThatDoNotExist() {
+    assertThatThrownBy(() -> resolver.resolve("www.dead.com")).isInstanceOf(NoSuchHostException.class);
+    now = now.plusSeconds(299);
+    assertThatThrownBy(() -> resolver.resolveAsync("www.dead.com").join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(NoSuchHostException.class);
+
+    assertThat(stub.lookups).isEqualTo(1);
+    assertThat(resolver.getNegativeHits()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLookNamesUpAgainOnceTheNegativeTtlExpires() {
+    assertThatThrownBy(() -> resolver.resolve("www.dead.com")).isInstanceOf(UnknownHostException.class);
+    now = now.plusSeconds(300);
+    assertThatThrownBy(() -> resolver.resolve("www.dead.com")).isInstanceOf(UnknownHostException.class);
+
+    assertThat(stub.lookups).isEqualTo(2);
+    assertThat(resolver.getNegativeHits()).isZero();
+  }
+
+  @Test
+  void shouldRetryALookupThatWasNotAnsweredAfterTheFailureTtl() {
+    assertThatThrownBy(() -> resolver.resolve("www.flaky.com"))
+        .isInstanceOf(UnknownHostException.class)
+        .isNotInstanceOf(NoSuchHostException.class);
+    now = now.plusSeconds(9);
+    assertThatThrownBy(() -> resolver.resolve("www.flaky.com")).isInstanceOf(UnknownHostException.class);
+    assertThat(stub.lookups).isEqualTo(1);
+
+    stub.unanswered.clear();
+    stub.addresses.put("www.flaky.com", stub.addresses.get("www.a.com"));
+    now = now.plusSeconds(1);
+
+    assertThat(resolver.resolve("www.flaky.com")).isNotEmpty();
+    assertThat(stub.lookups).isEqualTo(2);
+  }
+
+  @Test
+  void shouldPrefetchNamesInUseOnceTheyLapse() throws UnknownHostException {
+    resolver.resolve("www.a.com");
+    now = now.plusSeconds(30);
+    resolver.prefetch();
+    resolver.prefetch();
+
+    resolver.resolve("www.a.com");
+
+    assertThat(stub.lookups).isEqualTo(2);
+    assertThat(resolver.getPrefetched()).isEqualTo(1);
+    assertThat(resolver.getHits()).isEqualTo(1);
+    assertThat(executed.get()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDropNamesNoLongerInUse() throws UnknownHostException {
+    resolver.resolve("www.a.com");
+    assertThatThrownBy(() -> resolver.resolve("www.dead.com")).isInstanceOf(UnknownHostException.class);
+    now = now.plusSeconds(300);
+
+    resolver.prefetch();
+
+    assertThat(resolver.getPrefetched()).isZero();
+    assertThat(resolver.getSize()).isZero();
+  }
+
+  @Test
+  void shouldCountAnAsyncLookupOnceAndRunItOnTheExecutor() {
+    assertThat(resolver.resolveAsync("www.a.com").join()).isNotEmpty();
+
+    assertThat(resolver.getLookups()).isEqualTo(1);
+    assertThat(executed.get()).isEqualTo(1);
+  }
+
+  private static class StubResolver implements NameResolver {
+    private final Map<String, InetAddress> addresses = new HashMap<>();
+    private final Set<String> unanswered = new HashSet<>();
+    private int lookups;
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+      lookups++;
+      if (unanswered.contains(host)) {
+        throw new UnknownHostException(host);
+      }
+      if (!addresses.containsKey(host)) {
+        throw new NoSuchHostException(host);
+      }
+      return new InetAddress[] {addresses.get(host)};
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.alexmoleiro.healthchecker.service.dns;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SystemNameResolverTest {
+
+  private static final int NXDOMAIN = 3;
+  private static final int SERVFAIL = 2;
+  private DatagramSocket stubDns;
+  private SystemNameResolver resolver;
+
+  // Answers every question with no records: NXDOMAIN for names starting "gone", SERVFAIL otherwise.
+  @BeforeEach
+  void setUp() throws IOException {
+    stubDns = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+    final Thread answering = new Thread(() -> {
+      final byte[] buffer = new byte[512];
+      while (!stubDns.isClosed()) {
+        try {
+          final DatagramPacket query = new DatagramPacket(buffer, buffer.length);
+          stubDns.receive(query);
+          final byte[] answer = Arrays.copyOf(query.getData(), query.getLength());
+          final String label = new String(answer, 13, answer[12]);
+          answer[2] = (byte) 0x81;
+          answer[3] = (byte) (0x80 | (label.equals("gone") ? NXDOMAIN : SERVFAIL));
+          stubDns.send(new DatagramPacket(answer, answer.length, query.getSocketAddress()));
+        } catch (IOException e) {
+          return;
+        }
+      }
+    });
+    answering.setDaemon(true);
+    answering.start();
+    resolver = new SystemNameResolver("127.0.0.1:" + stubDns.getLocalPort());
+  }
+
+  @AfterEach
+  void tearDown() {
+    stubDns.close();
+  }
+
+  @Test
+  void shouldReportANameTheDnsSaysDoesNotExist() {
+    assertThatThrownBy(() -> resolver.resolve("gone.invalid")).isInstanceOf(NoSuchHostException.class);
+  }
+
+  @Test
+  void shouldNotReportANameThatFailedToResolveAsMissing() {
+    assertThatThrownBy(() -> resolver.resolve("flaky.invalid"))
+        .isInstanceOf(UnknownHostException.class)
+        .isNotInstanceOf(NoSuchHostException.class);
+  }
+
+  @Test
+  void shouldResolveNamesTheJvmKnows() throws UnknownHostException {
+    assertThat(resolver.resolve("localhost")).isNotEmpty();
+  }
+}